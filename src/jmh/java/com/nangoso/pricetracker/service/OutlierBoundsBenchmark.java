@@ -0,0 +1,109 @@
+package com.nangoso.pricetracker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 가격 목록의 이상치 판별 비용 비교
+ * 기존 List 기반 방식(정렬 + contains)과 {@link OutlierBounds}로 모든 가격의 상태를 판별하는 시간을 측정합니다.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutlierBoundsBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int size;
+
+    private long[] prices;
+    private List<Long> boxedPrices;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        prices = new long[size];
+        boxedPrices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // 대부분은 시세 근처, 일부는 오입력 가격
+            long price = random.nextInt(20) == 0
+                ? random.nextInt(100_000_000)
+                : 1_000_000 + random.nextInt(200_000);
+            prices[i] = price;
+            boxedPrices.add(price);
+        }
+    }
+
+    @Benchmark
+    public int legacyList() {
+        List<Long> validPrices = legacyRemoveOutliers(boxedPrices);
+        int valid = 0;
+        for (Long price : boxedPrices) {
+            if (validPrices.contains(price)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int primitiveBounds() {
+        OutlierBounds bounds = OutlierBounds.of(prices);
+        int valid = 0;
+        for (long price : prices) {
+            if (bounds.contains(price)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    // 기존 ItemService.removeOutliersUsingIQR / getPercentile 구현
+    private static List<Long> legacyRemoveOutliers(List<Long> values) {
+        if (values.size() < 4) {
+            return values;
+        }
+        List<Double> doubleValues = values.stream()
+            .map(Long::doubleValue)
+            .sorted()
+            .collect(Collectors.toList());
+
+        double q1 = legacyPercentile(doubleValues, 25);
+        double q3 = legacyPercentile(doubleValues, 75);
+        double iqr = q3 - q1;
+        double lowerBound = q1 - 1.5 * iqr;
+        double upperBound = q3 + 1.5 * iqr;
+
+        return values.stream()
+            .filter(v -> v >= lowerBound && v <= upperBound)
+            .collect(Collectors.toList());
+    }
+
+    private static double legacyPercentile(List<Double> sorted, double percentile) {
+        double index = percentile / 100.0 * (sorted.size() - 1);
+        int i = (int) index;
+        double fraction = index - i;
+        if (i + 1 < sorted.size()) {
+            return sorted.get(i) + (sorted.get(i + 1) - sorted.get(i)) * fraction;
+        }
+        return sorted.get(i);
+    }
+}
@@ -0,0 +1,50 @@
+package com.nangoso.pricetracker.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 외부 API 호출용 공유 OkHttpClient 설정
+ * 하나의 클라이언트와 연결 풀을 재사용하여 요청마다 TCP/TLS 핸드셰이크가 발생하지 않도록 합니다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Bean
+  public HttpPoolMetrics httpPoolMetrics() {
+    return new HttpPoolMetrics();
+  }
+
+  @Bean(destroyMethod = "evictAll")
+  public ConnectionPool httpConnectionPool(
+      @Value("${http.client.max-idle-connections:8}") int maxIdleConnections,
+      @Value("${http.client.keep-alive-seconds:300}") long keepAliveSeconds) {
+    return new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+  }
+
+  @Bean
+  public OkHttpClient okHttpClient(
+      ConnectionPool httpConnectionPool,
+      HttpPoolMetrics httpPoolMetrics,
+      @Value("${http.client.connect-timeout-seconds:10}") long connectTimeoutSeconds,
+      @Value("${http.client.read-timeout-seconds:10}") long readTimeoutSeconds,
+      @Value("${http.client.call-timeout-seconds:30}") long callTimeoutSeconds) {
+    return new OkHttpClient.Builder()
+        .connectionPool(httpConnectionPool)
+        // 서버가 ALPN으로 HTTP/2를 지원하면 HTTP/2, 아니면 HTTP/1.1 keep-alive 사용
+        .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+        .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+        .callTimeout(Duration.ofSeconds(callTimeoutSeconds))
+        .retryOnConnectionFailure(true)
+        .eventListener(httpPoolMetrics)
+        .build();
+  }
+}
@@ -0,0 +1,45 @@
+package com.nangoso.pricetracker.config;
+
+import com.nangoso.pricetracker.entity.ItemPrice;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * item_prices 시퀀스를 기존 데이터의 최대 ID 이후로 맞춥니다.
+ * IDENTITY에서 SEQUENCE로 전환되기 전에 저장된 행과 ID가 겹치지 않도록 시작 시 한 번 확인합니다.
+ */
+@Component
+@Slf4j
+public class ItemPriceSequenceInitializer {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 스키마 업데이트(시퀀스 생성)가 끝난 뒤 실행되도록 EntityManagerFactory에 의존
+  public ItemPriceSequenceInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  public void alignSequence() {
+    Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM item_prices", Long.class);
+    List<Long> baseValues = jdbcTemplate.queryForList(
+        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ITEM_PRICES_SEQ'", Long.class);
+    if (baseValues.isEmpty()) {
+      // 스키마 설정(ddl-auto, 시퀀스 이름 규칙)에 따라 시퀀스가 없을 수 있음 - 시작은 계속 진행
+      log.warn("Sequence item_prices_seq not found - skipping alignment");
+      return;
+    }
+    Long nextValue = baseValues.get(0);
+
+    // pooled 최적화는 시퀀스 값에서 할당 크기만큼 앞선 ID부터 사용하므로 그만큼 여유를 둠
+    long required = maxId + ItemPrice.ID_ALLOCATION_SIZE;
+    if (nextValue == null || nextValue < required) {
+      jdbcTemplate.execute("ALTER SEQUENCE item_prices_seq RESTART WITH " + required);
+      log.info("Aligned item_prices_seq to {} (max existing id: {})", required, maxId);
+    }
+  }
+}
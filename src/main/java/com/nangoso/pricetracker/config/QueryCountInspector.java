@@ -0,0 +1,30 @@
+package com.nangoso.pricetracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 요청 스레드에서 실행된 SQL 문 수를 집계하는 Hibernate StatementInspector
+ * {@link QueryCountInterceptor}가 요청 시작 시 초기화하고 응답 헤더로 노출합니다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+  private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get()[0]++;
+    return sql;
+  }
+
+  public static void reset() {
+    COUNT.get()[0] = 0;
+  }
+
+  public static int current() {
+    return COUNT.get()[0];
+  }
+
+  public static void clear() {
+    COUNT.remove();
+  }
+}
@@ -0,0 +1,44 @@
+package com.nangoso.pricetracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * 요청당 실행된 SQL 문 수를 X-Query-Count 응답 헤더로 노출합니다.
+ * 헤더 값은 컨트롤러 처리까지의 쿼리 수이며, 뷰 렌더링까지 포함한 전체 수는 디버그 로그로 남깁니다.
+ * 응답 본문을 바로 쓰는 API(@ResponseBody, ResponseEntity)는 postHandle 전에 응답이 커밋되므로
+ * {@link QueryCountResponseAdvice}가 본문을 쓰기 직전에 헤더를 추가합니다.
+ */
+@Slf4j
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+  public static final String HEADER_NAME = "X-Query-Count";
+
+  // 이 인터셉터가 적용된 요청 표시 (응답 본문 어드바이스가 같은 경로에만 헤더를 붙이도록)
+  static final String COUNTING_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".COUNTING";
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    QueryCountInspector.reset();
+    request.setAttribute(COUNTING_ATTRIBUTE, Boolean.TRUE);
+    return true;
+  }
+
+  @Override
+  public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+      ModelAndView modelAndView) {
+    if (!response.isCommitted()) {
+      response.setHeader(HEADER_NAME, String.valueOf(QueryCountInspector.current()));
+    }
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    log.debug("{} {} - {} queries", request.getMethod(), request.getRequestURI(), QueryCountInspector.current());
+    QueryCountInspector.clear();
+  }
+}
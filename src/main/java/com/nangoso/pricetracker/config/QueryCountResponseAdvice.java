@@ -0,0 +1,34 @@
+package com.nangoso.pricetracker.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 직접 쓰는 핸들러(@RestController, ResponseEntity)에 X-Query-Count 헤더를 추가합니다.
+ * 메시지 컨버터가 본문을 쓰면서 응답이 커밋되므로, {@link QueryCountInterceptor#postHandle} 대신 본문 쓰기 직전에 헤더를 설정합니다.
+ */
+@ControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+        && servletRequest.getServletRequest().getAttribute(QueryCountInterceptor.COUNTING_ATTRIBUTE) != null) {
+      response.getHeaders().set(QueryCountInterceptor.HEADER_NAME, String.valueOf(QueryCountInspector.current()));
+    }
+    return body;
+  }
+}
@@ -0,0 +1,55 @@
+package com.nangoso.pricetracker.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * Spring MVC 설정
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  // 템플릿 링크에 내용 해시가 붙는 정적 리소스 폴더 (나머지 /files/** 등은 기본 설정으로 제공)
+  private static final String[] VERSIONED_RESOURCE_DIRS = {"css", "js"};
+
+  @Value("${static.versioned-cache-days:0}")
+  private long versionedCacheDays;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new QueryCountInterceptor())
+        .addPathPatterns("/items/**", "/api/**", "/");
+
+    // ETag를 보내는 페이지/API는 캐시에 저장하되 매번 검증 요청(조건부 GET)을 보내도록 지정
+    WebContentInterceptor webContentInterceptor = new WebContentInterceptor();
+    webContentInterceptor.addCacheMapping(CacheControl.noCache().cachePublic(), "/", "/items/**", "/api/search", "/api/items/*/history", "/api/market");
+    registry.addInterceptor(webContentInterceptor);
+  }
+
+  /**
+   * 내용 해시 URL을 쓰는 /css/**, /js/**만 오래 캐시합니다. (URL이 바뀌지 않는 다른 정적 파일은 매번 검증)
+   */
+  @Override
+  public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    if (versionedCacheDays <= 0) {
+      return;
+    }
+
+    for (String dir : VERSIONED_RESOURCE_DIRS) {
+      registry.addResourceHandler("/" + dir + "/**")
+          .addResourceLocations("classpath:/static/" + dir + "/")
+          .setCacheControl(CacheControl.maxAge(Duration.ofDays(versionedCacheDays)).cachePublic())
+          .resourceChain(true)
+          .addResolver(new EncodedResourceResolver())
+          .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+  }
+}
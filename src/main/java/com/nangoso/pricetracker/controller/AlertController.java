@@ -0,0 +1,65 @@
+package com.nangoso.pricetracker.controller;
+
+import com.nangoso.pricetracker.dto.PriceAlertRuleDto;
+import com.nangoso.pricetracker.dto.PriceAlertRuleRequest;
+import com.nangoso.pricetracker.service.PriceAlertService;
+import java.net.URI;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 가격 알림 규칙 API
+ */
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+  private final PriceAlertService priceAlertService;
+
+  /**
+   * 아이템의 알림 규칙 목록 (웹훅 주소는 가려서 반환)
+   */
+  @GetMapping
+  public ResponseEntity<List<PriceAlertRuleDto>> rules(@RequestParam String itemCode) {
+    return ResponseEntity.ok(priceAlertService.findRules(itemCode));
+  }
+
+  /**
+   * 알림 규칙 등록 (PRICE_BELOW, PRICE_ABOVE: 기준 가격, CHANGE_ABOVE_PCT: 전날 대비 변동률 %)
+   * 응답의 deleteToken은 이때만 받을 수 있으며, 삭제할 때 X-Delete-Token 헤더로 보냅니다.
+   */
+  @PostMapping
+  public ResponseEntity<PriceAlertRuleDto> createRule(@RequestBody PriceAlertRuleRequest request) {
+    PriceAlertRuleDto rule = priceAlertService.createRule(request);
+    return ResponseEntity.created(URI.create("/api/alerts/" + rule.getId())).body(rule);
+  }
+
+  /**
+   * 알림 규칙 삭제 (등록 시 받은 삭제 토큰 필요, 규칙이 없거나 토큰이 맞지 않으면 404)
+   */
+  @DeleteMapping("/{ruleId}")
+  public ResponseEntity<Void> deleteRule(@PathVariable Long ruleId,
+      @RequestHeader(value = "X-Delete-Token", required = false) String deleteToken) {
+    if (!priceAlertService.deleteRule(ruleId, deleteToken)) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.noContent().build();
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+    return ResponseEntity.badRequest().body(e.getMessage());
+  }
+}
@@ -1,26 +1,179 @@
 package com.nangoso.pricetracker.controller;
 
-import com.nangoso.pricetracker.service.ItemService;
+import com.nangoso.pricetracker.config.HttpPoolMetrics;
+import com.nangoso.pricetracker.dto.CacheStatsDto;
+import com.nangoso.pricetracker.dto.HttpPoolStatsDto;
+import com.nangoso.pricetracker.dto.ItemResponseDto;
+import com.nangoso.pricetracker.dto.MarketOverviewDto;
+import com.nangoso.pricetracker.dto.PriceSeriesDto;
+import com.nangoso.pricetracker.dto.ValidationJobDto;
+import com.nangoso.pricetracker.entity.CollectionRun;
+import com.nangoso.pricetracker.service.ItemPriceStreamService;
+import com.nangoso.pricetracker.service.ItemReadCache;
+import com.nangoso.pricetracker.service.ItemSearchIndex;
+import com.nangoso.pricetracker.service.MarketAnalyticsService;
+import com.nangoso.pricetracker.service.PriceValidationService;
+import com.nangoso.pricetracker.service.ResponseVersionService;
+import java.net.URI;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import okhttp3.ConnectionPool;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class ApiController {
 
-  private final ItemService itemService;
+  private static final int MAX_SEARCH_LIMIT = 50;
+  private static final int MAX_HISTORY_DAYS = 3650;
+  private static final int MAX_CHART_POINTS = 1000;
+
+  private final PriceValidationService priceValidationService;
+  private final HttpPoolMetrics httpPoolMetrics;
+  private final ConnectionPool httpConnectionPool;
+  private final ItemSearchIndex itemSearchIndex;
+  private final ItemReadCache itemReadCache;
+  private final ResponseVersionService responseVersionService;
+  private final ItemPriceStreamService itemPriceStreamService;
+  private final MarketAnalyticsService marketAnalyticsService;
+
+  /**
+   * 아이템 검색 (이름 부분 일치, 초성 검색, 아이템 코드 앞부분 일치)
+   * 검색 인덱스가 바뀌지 않았으면 304를 반환합니다.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<ItemResponseDto>> search(@RequestParam("q") String query,
+      @RequestParam(defaultValue = "10") int limit, WebRequest webRequest) {
+    if (webRequest.checkNotModified(responseVersionService.forSearch().etag())) {
+      return null;
+    }
+    return ResponseEntity.ok(itemSearchIndex.search(query, Math.min(limit, MAX_SEARCH_LIMIT)));
+  }
+
+  /**
+   * 차트용 가격 추이 조회 (기간에 맞는 단위의 통계를 최대 maxPoints개로 다운샘플링한 컬럼 형식)
+   * 아이템 가격이 바뀌지 않았으면 조회 없이 304를 반환합니다.
+   */
+  @GetMapping("/items/{itemCode}/history")
+  public ResponseEntity<PriceSeriesDto> priceHistory(@PathVariable String itemCode,
+      @RequestParam(defaultValue = "30") int days, @RequestParam(defaultValue = "200") int maxPoints,
+      WebRequest webRequest) {
+    ResponseVersionService.Validators validators = responseVersionService.forItem(itemCode);
+    if (webRequest.checkNotModified(validators.etag(), validators.lastModified())) {
+      return null;
+    }
+
+    int clampedDays = Math.max(1, Math.min(days, MAX_HISTORY_DAYS));
+    int clampedPoints = Math.max(3, Math.min(maxPoints, MAX_CHART_POINTS));
+    PriceSeriesDto series = itemReadCache.getPriceSeries(itemCode, clampedDays, clampedPoints);
+    if (series == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(series);
+  }
+
+  /**
+   * 아이템 시세 실시간 구독 (SSE)
+   * 수집으로 아이템 가격이 바뀌면 "price" 이벤트로 오늘 시세를 받습니다.
+   */
+  @GetMapping(path = "/items/{itemCode}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> priceStream(@PathVariable String itemCode) {
+    if (!itemSearchIndex.contains(itemCode)) {
+      return ResponseEntity.notFound().build();
+    }
+    SseEmitter emitter = itemPriceStreamService.subscribe(itemCode);
+    if (emitter == null) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+    return ResponseEntity.ok(emitter);
+  }
 
   /**
-   * 기존 가격 데이터 검증 및 이상치 업데이트 (관리자용)
+   * 시장 개요 (시장 지수, 상승/하락, 판매 목록 많은/거래 적은 아이템)
+   * 수집 실행마다 계산된 마지막 스냅샷을 그대로 반환하며, 스냅샷이 같으면 304를 반환합니다.
+   */
+  @GetMapping("/market")
+  public ResponseEntity<MarketOverviewDto> market(WebRequest webRequest) {
+    if (webRequest.checkNotModified(responseVersionService.forMarket().etag())) {
+      return null;
+    }
+    MarketOverviewDto overview = marketAnalyticsService.getOverview();
+    if (overview == null) {
+      return ResponseEntity.noContent().build();
+    }
+    return ResponseEntity.ok(overview);
+  }
+
+  /**
+   * 기존 가격 데이터 검증 및 이상치 업데이트 작업 시작 (관리자용)
+   * 작업은 백그라운드에서 실행되며, 반환된 작업 ID로 진행률을 조회합니다.
    */
   @PostMapping("/validate-prices")
-  public ResponseEntity<String> validateExistingPrices() {
-    itemService.validateAndUpdateExistingPrices();
-    return ResponseEntity.ok("Price validation completed successfully");
+  public ResponseEntity<ValidationJobDto> validateExistingPrices(
+      @RequestParam(defaultValue = "false") boolean changedOnly) {
+    CollectionRun job = priceValidationService.submit(changedOnly);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/validate-prices/" + job.getId()))
+        .body(toValidationJobDto(job));
+  }
+
+  /**
+   * 가격 검증 작업 진행률 조회
+   */
+  @GetMapping("/validate-prices/{jobId}")
+  public ResponseEntity<ValidationJobDto> validationJob(@PathVariable Long jobId) {
+    CollectionRun job = priceValidationService.findJob(jobId);
+    if (job == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(toValidationJobDto(job));
   }
 
+  /**
+   * 아이템 상세/가격 히스토리 캐시 지표 조회
+   */
+  @GetMapping("/metrics/cache")
+  public ResponseEntity<List<CacheStatsDto>> cacheMetrics() {
+    return ResponseEntity.ok(itemReadCache.getStats());
+  }
+
+  /**
+   * 외부 API HTTP 연결 풀 지표 조회
+   */
+  @GetMapping("/metrics/http-client")
+  public ResponseEntity<HttpPoolStatsDto> httpClientMetrics() {
+    return ResponseEntity.ok(new HttpPoolStatsDto(
+        httpPoolMetrics.getCalls(),
+        httpPoolMetrics.getFailedCalls(),
+        httpPoolMetrics.getPoolHits(),
+        httpPoolMetrics.getPoolMisses(),
+        httpPoolMetrics.getHitRate(),
+        httpPoolMetrics.getHttp2Acquisitions(),
+        httpConnectionPool.idleConnectionCount(),
+        httpConnectionPool.connectionCount()
+    ));
+  }
+
+  private ValidationJobDto toValidationJobDto(CollectionRun job) {
+    return new ValidationJobDto(
+        job.getId(),
+        job.getStatus().name(),
+        job.getTotalItems(),
+        job.getCompletedItems(),
+        job.getUpdatedRows(),
+        job.getStartedAt(),
+        job.getFinishedAt()
+    );
+  }
 }
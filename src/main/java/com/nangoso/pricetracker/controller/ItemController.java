@@ -2,7 +2,10 @@ package com.nangoso.pricetracker.controller;
 
 import com.nangoso.pricetracker.dto.ItemDetailDto;
 import com.nangoso.pricetracker.dto.PriceHistoryDto;
-import com.nangoso.pricetracker.service.ItemService;
+import com.nangoso.pricetracker.service.ItemReadCache;
+import com.nangoso.pricetracker.service.ItemSearchIndex;
+import com.nangoso.pricetracker.service.ResponseVersionService;
+import com.nangoso.pricetracker.service.ViewCountService;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -11,22 +14,36 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
 
-    private final ItemService itemService;
+    private final ItemReadCache itemReadCache;
+    private final ViewCountService viewCountService;
+    private final ResponseVersionService responseVersionService;
+    private final ItemSearchIndex itemSearchIndex;
 
     /**
      * 아이템 상세 페이지
-     * 특정 아이템의 가격 정보와 히스토리를 표시합니다.
+     * 특정 아이템의 가격 정보와 히스토리를 표시합니다. (가격이 바뀔 때까지 캐시된 값 사용)
+     * 브라우저/프록시가 가진 페이지의 버전이 같으면 조회 없이 304를 반환합니다.
      */
     @GetMapping("/{itemCode}")
-    public String itemDetail(@PathVariable String itemCode, Model model) {
+    public String itemDetail(@PathVariable String itemCode, WebRequest webRequest, Model model) {
+      ResponseVersionService.Validators validators = responseVersionService.forItem(itemCode);
+      if (webRequest.checkNotModified(validators.etag(), validators.lastModified())) {
+        // 304 응답도 조회수에 포함 (등록된 아이템만)
+        if (itemSearchIndex.contains(itemCode)) {
+          viewCountService.increment(itemCode);
+        }
+        return null;
+      }
+
       // 실제 데이터 조회
-      ItemDetailDto item = itemService.getItemDetail(itemCode);
+      ItemDetailDto item = itemReadCache.getItemDetail(itemCode);
 
       if (item == null) {
         // 아이템을 찾을 수 없는 경우
@@ -35,8 +52,11 @@ public class ItemController {
         return "item-detail";
       }
 
+      // 조회수 증가 (메모리에 누적 후 주기적으로 DB 반영)
+      viewCountService.increment(itemCode);
+
       // 가격 히스토리 조회 (최근 30일)
-      List<PriceHistoryDto> priceHistory = itemService.getPriceHistory(itemCode, 30);
+      List<PriceHistoryDto> priceHistory = itemReadCache.getPriceHistory(itemCode, 30);
 
       model.addAttribute("item", item);
       model.addAttribute("priceHistory", priceHistory);
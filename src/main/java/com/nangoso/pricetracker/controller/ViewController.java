@@ -1,12 +1,15 @@
 package com.nangoso.pricetracker.controller;
 
 import com.nangoso.pricetracker.dto.PopularItemDto;
-import com.nangoso.pricetracker.service.ItemService;
+import com.nangoso.pricetracker.service.MarketAnalyticsService;
+import com.nangoso.pricetracker.service.PopularItemService;
+import com.nangoso.pricetracker.service.ResponseVersionService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * 뷰 컨트롤러
@@ -16,17 +19,25 @@ import org.springframework.web.bind.annotation.GetMapping;
 @RequiredArgsConstructor
 public class ViewController {
 
-    private final ItemService itemService;
+    private final PopularItemService popularItemService;
+    private final ResponseVersionService responseVersionService;
+    private final MarketAnalyticsService marketAnalyticsService;
 
     /**
      * 메인 페이지
-     * 인기 아이템 목록을 표시합니다.
+     * 인기 아이템 목록과 시장 개요를 표시합니다. (메모리 스냅샷에서 조회, 스냅샷이 같으면 렌더링 없이 304)
      */
     @GetMapping("/")
-    public String index(Model model) {
-        List<PopularItemDto> popularItems = itemService.getPopularItems(8);
+    public String index(WebRequest webRequest, Model model) {
+        ResponseVersionService.Validators validators = responseVersionService.forHome();
+        if (webRequest.checkNotModified(validators.etag(), validators.lastModified())) {
+            return null;
+        }
+
+        List<PopularItemDto> popularItems = popularItemService.getPopularItems(8);
 
         model.addAttribute("popularItems", popularItems);
+        model.addAttribute("market", marketAnalyticsService.getOverview());
         return "index";
     }
 
@@ -0,0 +1,19 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 조회 캐시 지표 DTO
+ */
+@Data
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long invalidations; // 가격 변경 이벤트로 무효화된 아이템 수
+}
@@ -0,0 +1,21 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * HTTP 연결 풀 지표 DTO
+ * 외부 API 호출 시 연결 재사용(풀 히트) 현황
+ */
+@Data
+@AllArgsConstructor
+public class HttpPoolStatsDto {
+    private long calls;
+    private long failedCalls;
+    private long poolHits;
+    private long poolMisses;
+    private double hitRate;
+    private long http2Acquisitions;
+    private int idleConnections;
+    private int totalConnections;
+}
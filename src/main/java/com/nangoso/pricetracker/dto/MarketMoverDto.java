@@ -0,0 +1,20 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 시장 순위 아이템 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketMoverDto {
+    private String itemCode;
+    private String name;
+    private String imageUrl;
+    private Long avgPrice;       // 최근 수집일 평균가 (거래가 없으면 null)
+    private Double changeRate;   // 이전 수집일 대비 변동률 (%)
+    private int listingCount;    // 최근 수집일 판매 목록 수
+}
@@ -0,0 +1,30 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시장 개요 DTO
+ * 시장 지수와 순위 목록 (스냅샷 버전 단위로 계산되어 그대로 제공)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketOverviewDto {
+    private Long version;            // 스냅샷 ID
+    private LocalDate marketDate;
+    private LocalDateTime createdAt;
+    private double indexLevel;
+    private Double indexChangeRate;  // 전날 종가 대비 (%)
+    private int itemCount;
+    private long listingCount;
+    private List<MarketMoverDto> gainers;
+    private List<MarketMoverDto> losers;
+    private List<MarketMoverDto> mostListed;
+    private List<MarketMoverDto> leastLiquid;
+}
@@ -0,0 +1,23 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 DTO
+ * 알림 전송 채널(로그, 웹훅, SSE)로 보내는 내용 (웹훅 주소는 포함하지 않음)
+ */
+@Data
+@AllArgsConstructor
+public class PriceAlertNotification {
+    private Long ruleId;
+    private String itemCode;
+    private String itemName;
+    private String type;
+    private Double threshold;
+    private Long avgPrice;       // 알림 시점 오늘 평균가
+    private Double changeRate;   // 알림 시점 전날 대비 변동률 (%)
+    private LocalDateTime triggeredAt;
+}
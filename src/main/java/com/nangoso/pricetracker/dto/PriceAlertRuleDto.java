@@ -0,0 +1,22 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 규칙 DTO
+ */
+@Data
+@AllArgsConstructor
+public class PriceAlertRuleDto {
+    private Long id;
+    private String itemCode;
+    private String type;
+    private Double threshold;
+    private String webhookUrl;                // 가린 웹훅 주소 (scheme://host/***)
+    private LocalDateTime createdAt;
+    private LocalDateTime lastTriggeredAt;
+    private String deleteToken;               // 삭제 토큰 (등록 응답에만 포함, 목록에서는 null)
+}
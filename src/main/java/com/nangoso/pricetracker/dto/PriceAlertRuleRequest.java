@@ -0,0 +1,20 @@
+package com.nangoso.pricetracker.dto;
+
+import com.nangoso.pricetracker.entity.PriceAlertRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 가격 알림 규칙 등록 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertRuleRequest {
+
+    private String itemCode;                  // 아이템 코드
+    private PriceAlertRule.AlertType type;    // 알림 조건
+    private Double threshold;                 // 기준 가격(메소) 또는 기준 변동률(%)
+    private String webhookUrl;                // 알림을 받을 웹훅 주소 (선택, 공개된 https 주소)
+}
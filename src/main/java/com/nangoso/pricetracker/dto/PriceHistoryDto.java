@@ -4,18 +4,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * 가격 히스토리 DTO
- * 일별 가격 통계 정보
+ * 구간별 가격 통계 정보 (조회 기간에 따라 8시간/일/주/월 단위, timestamp는 구간 시작 시각)
  */
 @Data
 @AllArgsConstructor
 public class PriceHistoryDto {
     private LocalDate date;
+    private LocalDateTime timestamp;
     private Long avgPrice;
     private Long minPrice;
     private Long maxPrice;
+    private Long p25Price;
     private Long medianPrice;
+    private Long p75Price;
     private Integer count;
 }
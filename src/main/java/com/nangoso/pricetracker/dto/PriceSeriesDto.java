@@ -0,0 +1,25 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 가격 추이 차트 DTO (컬럼 형식)
+ * 시각 오름차순의 통계(8시간/일/주/월 단위)를 점마다 객체로 만들지 않고 같은 길이의 배열로 전달합니다.
+ */
+@Data
+@AllArgsConstructor
+public class PriceSeriesDto {
+    private String itemCode;
+    private int days;
+    private String resolution; // 집계 단위 (HOUR_8, DAY, WEEK, MONTH)
+    private int totalPoints; // 다운샘플링 전 점 수
+    private List<LocalDateTime> timestamps; // 구간 시작 시각
+    private long[] avgPrices;
+    private long[] minPrices;
+    private long[] maxPrices;
+    private int[] counts;
+}
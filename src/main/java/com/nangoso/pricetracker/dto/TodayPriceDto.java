@@ -16,7 +16,9 @@ public class TodayPriceDto {
     private Long avgPrice;
     private Long minPrice;
     private Long maxPrice;
+    private Long p25Price;
     private Long medianPrice;
+    private Long p75Price;
     private Integer count;
     private Double changeRate;
 }
@@ -0,0 +1,23 @@
+package com.nangoso.pricetracker.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 거래 API 판매 목록 조회 결과
+ * 조건부 요청에 304 Not Modified가 오면 listings 없이 notModified만 true입니다.
+ */
+@Data
+@AllArgsConstructor
+public class TradeFetchResult {
+
+  private boolean notModified;
+  private List<PriceData> listings;
+  private String etag;
+  private String lastModified;
+
+  public static TradeFetchResult notModified(String etag, String lastModified) {
+    return new TradeFetchResult(true, List.of(), etag, lastModified);
+  }
+}
@@ -0,0 +1,22 @@
+package com.nangoso.pricetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가격 검증 작업 DTO
+ * 작업 상태와 (아이템, 날짜) 단위 진행률
+ */
+@Data
+@AllArgsConstructor
+public class ValidationJobDto {
+    private Long jobId;
+    private String status;
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Integer inactivatedPrices;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,42 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수집 작업 체크포인트
+ * 실행 중 처리가 끝난 아이템 코드를 기록하여 재시작 시 건너뜁니다.
+ */
+@Entity
+@Table(name = "collection_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_checkpoint_run_item", columnNames = {"run_id", "item_code"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId; // 실행 ID
+
+    @Column(name = "item_code", nullable = false)
+    private String itemCode; // 처리 완료된 아이템 코드
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,87 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 수집 작업 실행 기록
+ * 실행 중 재시작되면 같은 실행을 이어서 진행하기 위한 기준이 됩니다.
+ */
+@Entity
+@Table(name = "collection_runs", indexes = {
+    @Index(name = "idx_run_type_status", columnList = "type, status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RunType type; // 작업 종류
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private RunStatus status = RunStatus.RUNNING; // 실행 상태
+
+    @Column(nullable = false)
+    private LocalDate runDate; // 실행 기준 날짜
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer totalItems = 0; // 처리 대상 아이템 수
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer completedItems = 0; // 처리 완료 아이템 수
+
+    @Builder.Default
+    private Integer updatedRows = 0; // 상태가 변경된 가격 데이터 수 (검증 작업)
+
+    @Builder.Default
+    private Integer unchangedItems = 0; // 판매 목록이 바뀌지 않아 저장을 건너뛴 아이템 수 (가격 수집)
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        if (status == null) {
+            status = RunStatus.RUNNING;
+        }
+    }
+
+    /**
+     * 작업 종류
+     */
+    public enum RunType {
+        PRICE,      // 가격 수집
+        ITEM_INFO,  // 아이템 정보 수집
+        VALIDATION  // 기존 가격 데이터 이상치 검증 (처리 단위: 아이템-날짜)
+    }
+
+    /**
+     * 실행 상태
+     */
+    public enum RunStatus {
+        RUNNING,    // 실행 중 (재시작 시 이어서 진행)
+        COMPLETED,  // 완료
+        ABANDONED,  // 다음 실행으로 대체됨
+        FAILED      // 오류로 중단됨
+    }
+}
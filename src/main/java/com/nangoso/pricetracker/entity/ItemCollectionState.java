@@ -0,0 +1,71 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 아이템별 마지막 가격 수집 상태 (변경 감지용)
+ * 거래 API 응답의 검증자(ETag/Last-Modified)와 판매 목록 해시를 보관하여, 같은 날 내용이 바뀌지 않은 아이템은 저장을 건너뜁니다.
+ * 건너뛴 실행에서도 수집 시점 스냅샷을 남길 수 있도록 마지막으로 관측한 정상 가격의 집계를 함께 보관합니다.
+ * 아이템별 수집 주기와 다음 수집 시각도 기록하며, next_due_at 순서가 수집 대기열이 됩니다.
+ */
+@Entity
+@Table(name = "item_collection_states", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_collection_state_item", columnNames = {"item_id"})
+}, indexes = {
+    @Index(name = "idx_collection_state_next_due", columnList = "next_due_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCollectionState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    private String etag; // 응답 ETag (If-None-Match)
+
+    private String lastModified; // 응답 Last-Modified (If-Modified-Since)
+
+    @Column(nullable = false)
+    private Long contentHash; // 판매 목록 해시 (ListingFingerprint, 순서 무관)
+
+    @Column(nullable = false)
+    private LocalDate fingerprintDate; // 해시를 기록한 수집 날짜 (같은 날짜에만 비교)
+
+    @Column(nullable = false)
+    private Integer observedCount; // 마지막으로 관측한 정상 가격 수
+
+    private Long observedSum;
+
+    private Long observedMin;
+
+    private Long observedMax;
+
+    @Column(length = 16384)
+    private byte[] observedSketch; // 마지막으로 관측한 정상 가격 스케치 (PriceSketch 직렬화)
+
+    @Column(nullable = false)
+    private LocalDateTime collectedAt; // 마지막으로 내용이 바뀌어 저장한 시각
+
+    private Double volatility; // 수집 사이 중앙값 변동률 (이동 평균)
+
+    private Double churn; // 판매 목록 중 새로 올라온 비율 (이동 평균)
+
+    private Integer intervalMinutes; // 현재 수집 주기 (분)
+
+    @Column(name = "next_due_at")
+    private LocalDateTime nextDueAt; // 다음 수집 시각
+}
@@ -0,0 +1,95 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 아이템 일별 가격 통계 (ACTIVE 상태 가격 기준)
+ * 수집 시 증분으로 갱신되며, 상세/히스토리 조회는 원본 가격 대신 이 테이블을 읽습니다.
+ */
+@Entity
+@Table(name = "item_daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_stats_item_date", columnNames = {"item_id", "date"})
+}, indexes = {
+    @Index(name = "idx_daily_stats_date", columnList = "date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @Column(nullable = false)
+    private LocalDate date; // 통계 날짜
+
+    @Column(nullable = false)
+    private Integer count; // ACTIVE 가격 건수
+
+    @Column(nullable = false)
+    private Long priceSum; // ACTIVE 가격 합계
+
+    @Column(nullable = false)
+    private Long minPrice; // 최저가
+
+    @Column(nullable = false)
+    private Long maxPrice; // 최고가
+
+    @Column(length = 16384)
+    private byte[] priceSketch; // 가격 분위수 스케치 (PriceSketch 직렬화, 중앙값/사분위수 계산용)
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 빈 통계 생성 (병합 전 초기값)
+     */
+    public static ItemDailyStats empty(Item item, LocalDate date) {
+        return ItemDailyStats.builder()
+                .item(item)
+                .date(date)
+                .count(0)
+                .priceSum(0L)
+                .minPrice(Long.MAX_VALUE)
+                .maxPrice(Long.MIN_VALUE)
+                .build();
+    }
+
+    /**
+     * 평균 가격
+     */
+    public double averagePrice() {
+        return count == 0 ? 0.0 : (double) priceSum / count;
+    }
+
+    /**
+     * 가격 목록을 통계에 병합합니다.
+     */
+    public void merge(long[] prices) {
+        for (long price : prices) {
+            count++;
+            priceSum += price;
+            minPrice = Math.min(minPrice, price);
+            maxPrice = Math.max(maxPrice, price);
+        }
+    }
+}
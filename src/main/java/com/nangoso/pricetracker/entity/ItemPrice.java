@@ -20,8 +20,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ItemPrice {
 
+    /**
+     * 시퀀스 할당 크기 (pooled 최적화로 INSERT 배치가 가능하도록 ID를 미리 확보)
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_prices_seq")
+    @SequenceGenerator(name = "item_prices_seq", sequenceName = "item_prices_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,51 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 시장 지표 스냅샷
+ * 가격 수집 실행이 끝날 때마다 한 번 계산한 시장 지수와 순위를 저장합니다. ID가 스냅샷 버전입니다.
+ */
+@Entity
+@Table(name = "market_snapshots", indexes = {
+    @Index(name = "idx_market_snapshot_date", columnList = "market_date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long runId; // 계산을 시작한 수집 실행 ID (시작 시 계산이면 null)
+
+    @Column(nullable = false)
+    private LocalDate marketDate; // 기준 날짜 (아이템별 최근 수집일 통계 vs 이전 수집일 통계)
+
+    @Column(nullable = false)
+    private Double indexLevel; // 시장 지수 (첫 날 100 기준 연쇄 지수)
+
+    private Double indexChangeRate; // 전날 종가 대비 지수 변동률 (%)
+
+    @Column(nullable = false)
+    private Integer itemCount; // 최근 수집일에 거래된 아이템 수
+
+    @Column(nullable = false)
+    private Long listingCount; // 아이템별 최근 수집일 판매 목록 수 합계
+
+    @Column(nullable = false, length = 65536)
+    private String payload; // 순위 목록 (MarketOverviewDto JSON)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
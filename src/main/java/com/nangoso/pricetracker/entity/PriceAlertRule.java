@@ -0,0 +1,55 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 규칙
+ * 아이템의 오늘 평균가나 전날 대비 변동률이 기준선을 넘는 순간 알림을 보냅니다.
+ */
+@Entity
+@Table(name = "price_alert_rules", indexes = {
+    @Index(name = "idx_alert_rule_item_code", columnList = "item_code")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String itemCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertType type; // 알림 조건
+
+    @Column(nullable = false)
+    private Double threshold; // 기준 가격(메소) 또는 기준 변동률(%)
+
+    @Column(length = 500)
+    private String webhookUrl; // 알림을 받을 웹훅 주소 (없으면 웹훅 전송 안 함, 비밀 값이므로 목록에는 가려서 노출)
+
+    @Column(length = 64)
+    private String deleteTokenHash; // 삭제 토큰의 SHA-256 (등록 응답으로만 토큰 전달, 없으면 API로 삭제 불가)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastTriggeredAt; // 마지막 알림 시각
+
+    public enum AlertType {
+        PRICE_BELOW,       // 평균가가 기준 가격 아래로 내려감
+        PRICE_ABOVE,       // 평균가가 기준 가격 위로 올라감
+        CHANGE_ABOVE_PCT   // 전날 대비 변동률(절대값)이 기준을 넘음
+    }
+}
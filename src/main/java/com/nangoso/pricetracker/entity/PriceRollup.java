@@ -0,0 +1,130 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 기간 단위 가격 집계 (8시간, 주, 월)
+ * 일 단위는 {@link ItemDailyStats}가 담당하며, 긴 기간 히스토리는 이 테이블의 몇십 행만 읽습니다.
+ * 8시간 집계는 구간의 마지막 수집 스냅샷이고, 주/월 집계는 구간에 속한 일별 통계의 합입니다.
+ */
+@Entity
+@Table(name = "price_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_item_resolution_bucket", columnNames = {"item_id", "resolution", "bucket_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Resolution resolution; // 집계 단위
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart; // 구간 시작 시각
+
+    @Column(nullable = false)
+    private Integer count;
+
+    @Column(nullable = false)
+    private Long priceSum;
+
+    @Column(nullable = false)
+    private Long minPrice;
+
+    @Column(nullable = false)
+    private Long maxPrice;
+
+    @Column(length = 16384)
+    private byte[] priceSketch; // 가격 분위수 스케치 (PriceSketch 직렬화)
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 빈 집계 생성 (병합 전 초기값)
+     */
+    public static PriceRollup empty(Item item, Resolution resolution, LocalDateTime bucketStart) {
+        return PriceRollup.builder()
+                .item(item)
+                .resolution(resolution)
+                .bucketStart(bucketStart)
+                .count(0)
+                .priceSum(0L)
+                .minPrice(Long.MAX_VALUE)
+                .maxPrice(Long.MIN_VALUE)
+                .build();
+    }
+
+    /**
+     * 평균 가격
+     */
+    public double averagePrice() {
+        return count == 0 ? 0.0 : (double) priceSum / count;
+    }
+
+    /**
+     * 다른 집계 값을 병합합니다. (스케치는 호출하는 쪽에서 갱신)
+     */
+    public void merge(int otherCount, long otherSum, long otherMin, long otherMax) {
+        count += otherCount;
+        priceSum += otherSum;
+        minPrice = Math.min(minPrice, otherMin);
+        maxPrice = Math.max(maxPrice, otherMax);
+    }
+
+    /**
+     * 집계 단위
+     */
+    public enum Resolution {
+        HOUR_8,  // 8시간 (00시, 08시, 16시 시작) - 구간의 마지막 수집 스냅샷
+        WEEK,    // 주 (월요일 시작) - 일별 통계 기준
+        MONTH;   // 월 (1일 시작) - 일별 통계 기준
+
+        /**
+         * 시각이 속한 구간의 시작 시각
+         */
+        public LocalDateTime bucketStart(LocalDateTime time) {
+            return switch (this) {
+                case HOUR_8 -> time.truncatedTo(ChronoUnit.HOURS).withHour(time.getHour() / 8 * 8);
+                case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+                case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            };
+        }
+
+        /**
+         * 구간의 끝 시각 (다음 구간의 시작, 미포함)
+         */
+        public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+            return switch (this) {
+                case HOUR_8 -> bucketStart.plusHours(8);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+    }
+}
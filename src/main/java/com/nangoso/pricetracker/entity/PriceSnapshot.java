@@ -0,0 +1,54 @@
+package com.nangoso.pricetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수집 시점별 가격 스냅샷
+ * 수집 실행에서 아이템마다 관측한 ACTIVE 판매 가격 전체(중복 URL 포함)의 요약으로, 하루 안의 가격 변화를 보존합니다.
+ */
+@Entity
+@Table(name = "price_snapshots", indexes = {
+    @Index(name = "idx_snapshot_item_captured", columnList = "item_id, captured_at"),
+    @Index(name = "idx_snapshot_run", columnList = "run_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long runId; // 수집 실행 ID
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @Column(nullable = false)
+    private LocalDateTime capturedAt; // 수집 시각
+
+    @Column(nullable = false)
+    private Integer count; // 관측된 ACTIVE 가격 건수
+
+    @Column(nullable = false)
+    private Long priceSum;
+
+    @Column(nullable = false)
+    private Long minPrice;
+
+    @Column(nullable = false)
+    private Long maxPrice;
+
+    @Column(nullable = false)
+    private Long medianPrice;
+}
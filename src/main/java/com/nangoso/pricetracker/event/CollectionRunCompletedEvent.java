@@ -0,0 +1,13 @@
+package com.nangoso.pricetracker.event;
+
+import com.nangoso.pricetracker.entity.CollectionRun;
+
+/**
+ * 수집 실행 완료 이벤트
+ * 실행 중 저장된 데이터가 모두 커밋된 뒤 발행됩니다.
+ *
+ * @param runId 실행 ID
+ * @param type  작업 종류
+ */
+public record CollectionRunCompletedEvent(Long runId, CollectionRun.RunType type) {
+}
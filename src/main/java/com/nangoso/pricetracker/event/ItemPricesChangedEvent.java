@@ -0,0 +1,10 @@
+package com.nangoso.pricetracker.event;
+
+/**
+ * 아이템 가격 데이터(원본, 일별 통계, 집계) 변경 이벤트
+ * 트랜잭션 안에서 발행되면 구독자는 커밋 후에 처리합니다.
+ *
+ * @param itemCode 아이템 코드
+ */
+public record ItemPricesChangedEvent(String itemCode) {
+}
@@ -0,0 +1,13 @@
+package com.nangoso.pricetracker.event;
+
+import java.util.Set;
+
+/**
+ * 가격 수집 주기 완료 이벤트 (스케줄러 주기마다, 수집한 아이템이 있을 때만)
+ * 하루 단위 실행의 완료({@link CollectionRunCompletedEvent})와 달리 자주 발행되므로, 구독자는 필요한 경우에만 다시 계산합니다.
+ *
+ * @param runId          오늘의 가격 수집 실행 ID
+ * @param collectedCodes 이번 주기에 수집한 아이템 코드
+ */
+public record PriceCollectionTickEvent(Long runId, Set<String> collectedCodes) {
+}
@@ -0,0 +1,26 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.CollectionCheckpoint;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CollectionCheckpointRepository extends JpaRepository<CollectionCheckpoint, Long> {
+
+    /**
+     * 실행에서 처리 완료된 아이템 코드 목록 조회
+     */
+    @Query("SELECT c.itemCode FROM CollectionCheckpoint c WHERE c.runId = :runId")
+    List<String> findItemCodesByRunId(@Param("runId") Long runId);
+
+    /**
+     * 종료된 실행의 체크포인트 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM CollectionCheckpoint c WHERE c.runId = :runId")
+    int deleteByRunId(@Param("runId") Long runId);
+}
@@ -0,0 +1,59 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.CollectionRun;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CollectionRunRepository extends JpaRepository<CollectionRun, Long> {
+
+    List<CollectionRun> findByTypeAndStatusOrderByStartedAtDesc(CollectionRun.RunType type, CollectionRun.RunStatus status);
+
+    Optional<CollectionRun> findFirstByTypeAndStatusOrderByStartedAtDesc(CollectionRun.RunType type, CollectionRun.RunStatus status);
+
+    /**
+     * 처리 완료 아이템 수 증가 (원자적 연산)
+     */
+    @Modifying
+    @Query("UPDATE CollectionRun r SET r.completedItems = r.completedItems + 1 WHERE r.id = :runId")
+    int incrementCompletedItems(@Param("runId") Long runId);
+
+    /**
+     * 처리 대상 수 변경
+     */
+    @Modifying
+    @Query("UPDATE CollectionRun r SET r.totalItems = :totalItems WHERE r.id = :runId")
+    int updateTotalItems(@Param("runId") Long runId, @Param("totalItems") int totalItems);
+
+    /**
+     * 처리 완료 수와 변경된 데이터 수 누적 (원자적 연산)
+     */
+    @Modifying
+    @Query("UPDATE CollectionRun r SET r.completedItems = r.completedItems + :completed, " +
+           "r.updatedRows = COALESCE(r.updatedRows, 0) + :updated WHERE r.id = :runId")
+    int addProgress(@Param("runId") Long runId, @Param("completed") int completed, @Param("updated") int updated);
+
+    /**
+     * 주기 실행의 대상/처리 완료/변경 없음 아이템 수 누적 (원자적 연산)
+     */
+    @Modifying
+    @Query("UPDATE CollectionRun r SET r.totalItems = r.totalItems + :scheduled, " +
+           "r.completedItems = r.completedItems + :completed, " +
+           "r.unchangedItems = COALESCE(r.unchangedItems, 0) + :unchanged WHERE r.id = :runId")
+    int addCycleProgress(@Param("runId") Long runId, @Param("scheduled") int scheduled,
+                         @Param("completed") int completed, @Param("unchanged") int unchanged);
+
+    /**
+     * 실행 상태 변경
+     */
+    @Modifying
+    @Query("UPDATE CollectionRun r SET r.status = :status, r.finishedAt = :finishedAt WHERE r.id = :runId")
+    int updateStatus(@Param("runId") Long runId, @Param("status") CollectionRun.RunStatus status,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,14 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemCollectionState;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemCollectionStateRepository extends JpaRepository<ItemCollectionState, Long> {
+
+    List<ItemCollectionState> findByItemIn(Collection<Item> items);
+}
@@ -0,0 +1,63 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemDailyStatsRepository extends JpaRepository<ItemDailyStats, Long> {
+
+    Optional<ItemDailyStats> findByItemAndDate(Item item, LocalDate date);
+
+    /**
+     * 특정 아이템의 여러 날짜 통계를 한 번에 조회 (예: 오늘과 어제)
+     */
+    List<ItemDailyStats> findByItemAndDateIn(Item item, Collection<LocalDate> dates);
+
+    /**
+     * 특정 아이템의 최근 일별 통계 조회 (최신순)
+     */
+    List<ItemDailyStats> findByItemAndDateGreaterThanEqualOrderByDateDesc(Item item, LocalDate startDate);
+
+    /**
+     * 특정 아이템의 기간 통계 조회 (시작일, 종료일 포함) - 주/월 집계 재계산용
+     */
+    List<ItemDailyStats> findByItemAndDateBetween(Item item, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 여러 아이템의 여러 날짜 통계를 한 번에 조회 (인기 아이템 목록용)
+     */
+    @Query("SELECT s FROM ItemDailyStats s WHERE s.item.id IN :itemIds AND s.date IN :dates")
+    List<ItemDailyStats> findByItemIdsAndDates(@Param("itemIds") Collection<Long> itemIds,
+                                               @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * 시장 지표 계산용 전체 아이템의 기간 내 통계 (아이템 코드, 이름, 이미지, 날짜, 건수, 합계)
+     * 같은 아이템의 행이 날짜 순으로 이어지도록 아이템 ID, 날짜 순으로 정렬합니다.
+     */
+    @Query("SELECT i.itemCode, i.name, i.imageUrl, s.date, s.count, s.priceSum FROM ItemDailyStats s JOIN s.item i " +
+           "WHERE s.date BETWEEN :fromDate AND :toDate AND s.count > 0 ORDER BY i.id, s.date")
+    List<Object[]> findMarketRows(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * 분위수 스케치가 없는 통계 ID 조회 (스케치 도입 이전 데이터)
+     */
+    @Query("SELECT s.id FROM ItemDailyStats s WHERE s.priceSketch IS NULL")
+    List<Long> findIdsWithoutSketch();
+
+    /**
+     * 증분 갱신용 조회 (행 잠금)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemDailyStats s WHERE s.item = :item AND s.date = :date")
+    Optional<ItemDailyStats> findForUpdate(@Param("item") Item item, @Param("date") LocalDate date);
+}
@@ -2,13 +2,20 @@ package com.nangoso.pricetracker.repository;
 
 import com.nangoso.pricetracker.entity.Item;
 import com.nangoso.pricetracker.entity.ItemPrice;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemPriceRepository extends JpaRepository<ItemPrice, Long> {
@@ -36,45 +43,81 @@ public interface ItemPriceRepository extends JpaRepository<ItemPrice, Long> {
     List<ItemPrice> findAllByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
 
     /**
-     * 특정 아이템의 특정 날짜에 해당 URL이 존재하는지 확인
+     * 특정 아이템의 특정 날짜에 저장된 URL 목록 조회 (중복 판별용)
      */
-    boolean existsByItemAndDateAndUrl(Item item, LocalDate date, String url);
+    @Query("SELECT ip.url FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date")
+    List<String> findUrlsByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
 
     /**
-     * 특정 아이템의 최신 날짜 평균 가격 조회
+     * 특정 아이템의 특정 날짜 ACTIVE 가격 목록 - 일별 통계 재계산용
      */
-    @Query("SELECT AVG(ip.price) FROM ItemPrice ip WHERE ip.item = :item AND ip.date = (SELECT MAX(ip2.date) FROM ItemPrice ip2 WHERE ip2.item = :item)")
-    Double findLatestAveragePriceByItem(@Param("item") Item item);
+    @Query("SELECT ip.price FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date AND ip.status = 'ACTIVE'")
+    List<Long> findActivePricesByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
 
     /**
-     * 특정 아이템의 특정 날짜 최소 가격 조회 (ACTIVE 상태만)
+     * 전체 아이템의 일별 ACTIVE 가격 집계 (아이템 ID, 날짜, 건수, 합계, 최소, 최대) - 일별 통계 초기 적재용
      */
-    @Query("SELECT MIN(ip.price) FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date AND ip.status = 'ACTIVE'")
-    Long findMinPriceByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
+    @Query("SELECT ip.item.id, ip.date, COUNT(ip), SUM(ip.price), MIN(ip.price), MAX(ip.price) " +
+           "FROM ItemPrice ip WHERE ip.status = 'ACTIVE' GROUP BY ip.item.id, ip.date")
+    List<Object[]> findActiveAggregatesGroupByItemAndDate();
 
     /**
-     * 특정 아이템의 특정 날짜 최대 가격 조회 (ACTIVE 상태만)
+     * (아이템, 날짜) 파티션을 키셋 방식으로 조회 (마지막으로 처리한 파티션 이후부터, 생성 시각 기준 필터)
      */
-    @Query("SELECT MAX(ip.price) FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date AND ip.status = 'ACTIVE'")
-    Long findMaxPriceByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
+    @Query("SELECT DISTINCT ip.item.id, ip.date FROM ItemPrice ip " +
+           "WHERE ip.createdAt >= :since " +
+           "AND (ip.item.id > :itemId OR (ip.item.id = :itemId AND ip.date > :date)) " +
+           "ORDER BY ip.item.id, ip.date")
+    List<Object[]> findPartitionsAfter(@Param("since") LocalDateTime since, @Param("itemId") Long itemId,
+                                       @Param("date") LocalDate date, Pageable pageable);
 
     /**
-     * 특정 아이템의 특정 날짜 평균 가격 조회 (ACTIVE 상태만)
+     * 아이템별 파티션(날짜) 수 조회 (생성 시각 기준 필터)
      */
-    @Query("SELECT AVG(ip.price) FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date AND ip.status = 'ACTIVE'")
-    Double findAvgPriceByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
+    @Query("SELECT ip.item.id, COUNT(DISTINCT ip.date) FROM ItemPrice ip WHERE ip.createdAt >= :since GROUP BY ip.item.id")
+    List<Object[]> countPartitionsByItem(@Param("since") LocalDateTime since);
 
     /**
-     * 특정 아이템의 특정 날짜 거래 건수 조회 (ACTIVE 상태만)
+     * 파티션 검증에 필요한 값만 조회 (id, price, status)
      */
-    @Query("SELECT COUNT(ip) FROM ItemPrice ip WHERE ip.item = :item AND ip.date = :date AND ip.status = 'ACTIVE'")
-    Integer findCountByItemAndDate(@Param("item") Item item, @Param("date") LocalDate date);
+    @Query("SELECT ip.id, ip.price, ip.status FROM ItemPrice ip WHERE ip.item.id = :itemId AND ip.date = :date")
+    List<Object[]> findValidationRows(@Param("itemId") Long itemId, @Param("date") LocalDate date);
 
     /**
-     * 특정 아이템의 날짜별 가격 데이터 조회 (최근 n일, ACTIVE 상태만)
+     * 가격 데이터 상태 일괄 변경 (지정한 상태에서만 변경)
      */
-    @Query("SELECT ip.date as date, AVG(ip.price) as avgPrice, MIN(ip.price) as minPrice, MAX(ip.price) as maxPrice, COUNT(ip) as count " +
-           "FROM ItemPrice ip WHERE ip.item = :item AND ip.date >= :startDate AND ip.status = 'ACTIVE' " +
-           "GROUP BY ip.date ORDER BY ip.date DESC")
-    List<Object[]> findDailyStatsByItemAndDateAfter(@Param("item") Item item, @Param("startDate") LocalDate startDate);
+    @Modifying
+    @Query("UPDATE ItemPrice ip SET ip.status = :status WHERE ip.id IN :ids AND ip.status = :currentStatus")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("currentStatus") ItemPrice.PriceStatus currentStatus,
+                          @Param("status") ItemPrice.PriceStatus status);
+
+    /**
+     * 가장 오래된 가격 데이터 날짜
+     */
+    @Query("SELECT MIN(ip.date) FROM ItemPrice ip")
+    LocalDate findMinDate();
+
+    /**
+     * 기간 내 가격 데이터 전체를 스트림으로 조회 (보관 파일 기록용, 트랜잭션 안에서 사용)
+     * (id, item.id, date, price, status, url, comment, createdAt)
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT ip.id, ip.item.id, ip.date, ip.price, ip.status, ip.url, ip.comment, ip.createdAt " +
+           "FROM ItemPrice ip WHERE ip.date >= :from AND ip.date < :to")
+    Stream<Object[]> streamForArchive(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 기간 내 ACTIVE 가격이 있지만 일별 통계가 없는 (아이템 ID, 날짜) 조회
+     */
+    @Query("SELECT DISTINCT ip.item.id, ip.date FROM ItemPrice ip " +
+           "WHERE ip.date >= :from AND ip.date < :to AND ip.status = 'ACTIVE' " +
+           "AND NOT EXISTS (SELECT s.id FROM ItemDailyStats s WHERE s.item = ip.item AND s.date = ip.date)")
+    List<Object[]> findActivePartitionsWithoutStats(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 특정 날짜의 가격 데이터 일괄 삭제 (보관 후)
+     */
+    @Modifying
+    @Query("DELETE FROM ItemPrice ip WHERE ip.date = :date")
+    int deleteByDate(@Param("date") LocalDate date);
 }
@@ -1,10 +1,12 @@
 package com.nangoso.pricetracker.repository;
 
 import com.nangoso.pricetracker.entity.Item;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,18 +16,25 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Optional<Item> findByItemCode(String itemCode);
 
-    boolean existsByItemCode(String itemCode);
+    List<Item> findByItemCodeIn(Collection<String> itemCodes);
 
     /**
-     * 조회수 기준 상위 아이템 조회
+     * 전체 아이템 코드 조회 (아이템 정보 수집 대상 비교용)
      */
-    @Query("SELECT i FROM Item i WHERE i.viewCount > 0 ORDER BY i.viewCount DESC LIMIT :limit")
-    List<Item> findAllOrderByViewCountDesc(@Param("limit") int limit);
+    @Query("SELECT i.itemCode FROM Item i")
+    List<String> findAllItemCodes();
 
     /**
-     * 아이템 조회수 증가 (원자적 연산)
+     * 수집 시각이 된 아이템 조회 (수집한 적 없는 아이템 먼저, 이후 다음 수집 시각이 오래된 순)
      */
-    @Modifying
-    @Query("UPDATE Item i SET i.viewCount = i.viewCount + 1, i.updatedAt = CURRENT_TIMESTAMP WHERE i.itemCode = :itemCode")
-    int incrementViewCount(@Param("itemCode") String itemCode);
+    @Query("SELECT i FROM Item i LEFT JOIN ItemCollectionState s ON s.item = i " +
+           "WHERE s.id IS NULL OR s.nextDueAt IS NULL OR s.nextDueAt <= :now " +
+           "ORDER BY s.nextDueAt ASC NULLS FIRST, i.id ASC")
+    List<Item> findDueForCollection(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 전체 아이템 조회수 조회 (아이템 코드, 조회수) - 조회수 집계 초기화용
+     */
+    @Query("SELECT i.itemCode, i.viewCount FROM Item i")
+    List<Object[]> findAllViewCounts();
 }
@@ -0,0 +1,29 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.MarketSnapshot;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MarketSnapshotRepository extends JpaRepository<MarketSnapshot, Long> {
+
+    Optional<MarketSnapshot> findFirstByOrderByIdDesc();
+
+    /**
+     * 기준 날짜 이전의 마지막 스냅샷 (전날 종가 지수)
+     */
+    Optional<MarketSnapshot> findFirstByMarketDateLessThanOrderByIdDesc(LocalDate marketDate);
+
+    /**
+     * 기준 날짜 이전 날짜의 중간 스냅샷 삭제 (날짜별 마지막 스냅샷인 종가만 유지)
+     */
+    @Modifying
+    @Query("DELETE FROM MarketSnapshot s WHERE s.marketDate < :marketDate AND s.id NOT IN " +
+           "(SELECT MAX(t.id) FROM MarketSnapshot t WHERE t.marketDate < :marketDate GROUP BY t.marketDate)")
+    int deleteIntradayBefore(@Param("marketDate") LocalDate marketDate);
+}
@@ -0,0 +1,30 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.PriceAlertRule;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface PriceAlertRuleRepository extends JpaRepository<PriceAlertRule, Long> {
+
+    List<PriceAlertRule> findByItemCodeOrderByIdDesc(String itemCode);
+
+    long countByItemCode(String itemCode);
+
+    /**
+     * 알림을 보낸 규칙의 마지막 알림 시각 기록
+     * 커밋 후 이벤트 리스너에서 호출되므로 별도 트랜잭션으로 실행합니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE PriceAlertRule r SET r.lastTriggeredAt = :triggeredAt WHERE r.id IN :ids")
+    int markTriggered(@Param("ids") Collection<Long> ids, @Param("triggeredAt") LocalDateTime triggeredAt);
+}
@@ -0,0 +1,40 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.PriceRollup;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PriceRollupRepository extends JpaRepository<PriceRollup, Long> {
+
+    /**
+     * 특정 아이템의 특정 단위 집계 조회 (구간 시작 시각 이후, 최신순)
+     */
+    List<PriceRollup> findByItemAndResolutionAndBucketStartGreaterThanEqualOrderByBucketStartDesc(
+            Item item, PriceRollup.Resolution resolution, LocalDateTime from);
+
+    /**
+     * 증분 갱신용 조회 (행 잠금)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PriceRollup r WHERE r.item = :item AND r.resolution = :resolution AND r.bucketStart = :bucketStart")
+    Optional<PriceRollup> findForUpdate(@Param("item") Item item, @Param("resolution") PriceRollup.Resolution resolution,
+                                        @Param("bucketStart") LocalDateTime bucketStart);
+
+    /**
+     * 특정 단위의 오래된 집계 삭제 (보관 기간 정리)
+     */
+    @Modifying
+    @Query("DELETE FROM PriceRollup r WHERE r.resolution = :resolution AND r.bucketStart < :cutoff")
+    int deleteByResolutionAndBucketStartBefore(@Param("resolution") PriceRollup.Resolution resolution,
+                                               @Param("cutoff") LocalDateTime cutoff);
+}
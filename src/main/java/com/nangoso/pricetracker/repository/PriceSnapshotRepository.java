@@ -0,0 +1,27 @@
+package com.nangoso.pricetracker.repository;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.PriceSnapshot;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PriceSnapshotRepository extends JpaRepository<PriceSnapshot, Long> {
+
+    /**
+     * 특정 아이템의 특정 시각 이후 스냅샷 조회 (최신순)
+     */
+    List<PriceSnapshot> findByItemAndCapturedAtGreaterThanEqualOrderByCapturedAtDesc(Item item, LocalDateTime from);
+
+    /**
+     * 보관 기간이 지난 스냅샷 삭제
+     */
+    @Modifying
+    @Query("DELETE FROM PriceSnapshot s WHERE s.capturedAt < :cutoff")
+    int deleteByCapturedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,19 @@
 package com.nangoso.pricetracker.scheduler;
 
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import com.nangoso.pricetracker.service.ItemCollectionStateService;
+import com.nangoso.pricetracker.service.ItemDailyStatsService;
 import com.nangoso.pricetracker.service.ItemService;
+import com.nangoso.pricetracker.service.PriceRollupService;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,50 +25,116 @@ import org.springframework.stereotype.Component;
 public class PriceCollectionScheduler {
 
     private final ItemService itemService;
+    private final ItemDailyStatsService itemDailyStatsService;
+    private final PriceRollupService priceRollupService;
+    private final ItemCollectionStateService itemCollectionStateService;
+    private final ItemRepository itemRepository;
+
+    @Value("${collector.schedule.tick-ms:300000}")
+    private long tickMillis;
+
+    @Value("${collector.schedule.requests-per-hour:0}")
+    private double requestsPerHour;
+
+    @Value("${collector.schedule.baseline-interval-minutes:480}")
+    private int baselineIntervalMinutes;
+
+    // 이번 주기에 사용할 수 있는 요청 수 (스케줄러 스레드에서만 갱신)
+    private double requestCredits;
+
+    // 시작 시 통계/집계 최초 적재가 끝났는지 (적재 중에 수집한 행이 적재와 겹치지 않도록 그때까지 수집 보류)
+    private volatile boolean backfillFinished;
+
+    // 시작 시 초기화 작업 스레드 (ApplicationReadyEvent 처리를 막지 않도록)
+    private final ExecutorService bootstrapExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-bootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
-     * 애플리케이션 시작 시 아이템 정보를 초기화합니다.
-     * 이미 DB에 아이템이 있으면 스킵합니다.
-     * 초기화 후 JSON 파일을 생성합니다.
+     * 애플리케이션 시작 시 통계 적재와 아이템 정보 초기화를 백그라운드에서 시작합니다.
+     * 요청 처리는 바로 시작되며, 새로 저장된 아이템은 검색 인덱스에 바로 추가됩니다.
+     * 중단된 가격 수집은 수집 시각이 지난 채로 남아 다음 주기에 수집됩니다.
      */
     @EventListener(ApplicationReadyEvent.class)
     public void initializeItems() {
-        log.info("Application ready - Checking if items need to be initialized...");
+        log.info("Application ready - Initializing items in background...");
+        bootstrapExecutor.execute(this::bootstrap);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행 중인 아이템 정보 수집은 체크포인트부터 다음 시작 시 이어서 진행
+        bootstrapExecutor.shutdownNow();
+    }
+
+    private void bootstrap() {
+        try {
+            // 일별 통계, 분위수 스케치, 주/월 집계 최초 적재
+            itemDailyStatsService.backfillIfEmpty();
+            itemDailyStatsService.backfillSketches();
+            priceRollupService.backfillIfEmpty();
+        } catch (Exception e) {
+            log.error("Failed to backfill daily statistics", e);
+        } finally {
+            backfillFinished = true;
+        }
+
         try {
+            // DB에 없는 아이템 코드만 수집
             itemService.collectAndSaveItemInfo();
-            // 아이템 수집 후 JSON 파일로 내보내기
-            itemService.exportItemsToJson();
         } catch (Exception e) {
             log.error("Failed to initialize items", e);
         }
     }
 
     /**
-     * 매일 자정에 모든 아이템의 가격 정보를 수집합니다.
-     * cron 표현식: "초 분 시 일 월 요일"
-     * 0 30 12 * * * = 매일 정오
+     * 주기마다 수집 시각이 된 아이템을 요청 예산만큼 꺼내 가격을 수집합니다.
+     * 아이템마다 조회수, 가격 변동성, 판매 목록 교체율로 정해진 주기(최소~최대)를 가지며, 다음 수집 시각이 오래된 순서로 처리합니다.
+     * 예산은 시간당 요청 수로 정하며 (기본: 전체 아이템을 기준 주기마다 한 번씩 수집하는 양), 남은 예산은 다음 주기로 일부 이월됩니다.
+     * 주기마다 수집한 결과는 오늘의 가격 수집 실행에 누적되며, 날짜가 바뀐 뒤 첫 주기에 이전 날짜의 실행을 완료합니다.
+     * 시작 시 통계/집계 최초 적재가 끝나기 전에는 수집하지 않습니다.
      */
-    @Scheduled(cron = "15 0 0-23/8 * * *")
-    public void collectDailyPrices() {
-        log.info("Starting scheduled daily price collection...");
+    @Scheduled(initialDelayString = "${collector.schedule.tick-ms:300000}",
+               fixedDelayString = "${collector.schedule.tick-ms:300000}")
+    public void collectDuePrices() {
+        if (!backfillFinished) {
+            log.info("Skipping price collection tick - statistics backfill is still running");
+            return;
+        }
+
         try {
-            itemService.collectAndSavePrices();
+            itemService.completeFinishedPriceCycles();
+
+            double perTick = requestsPerHour() * tickMillis / 3_600_000.0;
+            requestCredits = Math.min(requestCredits + perTick, Math.max(perTick * 2, 1.0));
+
+            int limit = (int) requestCredits;
+            if (limit == 0) {
+                return;
+            }
+
+            List<Item> dueItems = itemCollectionStateService.findDueItems(LocalDateTime.now(), limit);
+            if (dueItems.isEmpty()) {
+                return;
+            }
+
+            log.info("Starting scheduled price collection - {} due items (budget {})", dueItems.size(), limit);
+            requestCredits -= dueItems.size();
+            itemService.collectDuePrices(dueItems);
         } catch (Exception e) {
-            log.error("Failed to collect daily prices", e);
+            log.error("Failed to collect due prices", e);
         }
     }
 
     /**
-     * 테스트용: 10분마다 가격 정보 수집 (개발 중에만 사용)
-     * 실제 운영 시에는 주석 처리하거나 제거해야 합니다.
+     * 시간당 요청 예산 (설정값이 0이면 전체 아이템을 기준 주기마다 한 번씩 수집하는 양)
      */
-//     @Scheduled(fixedRate = 600000) // 10분 = 600,000ms
-    public void collectPricesForTesting() {
-        log.info("Starting test price collection...");
-        try {
-            itemService.collectAndSavePrices();
-        } catch (Exception e) {
-            log.error("Failed to collect prices for testing", e);
+    private double requestsPerHour() {
+        if (requestsPerHour > 0) {
+            return requestsPerHour;
         }
+        return itemRepository.count() * 60.0 / baselineIntervalMinutes;
     }
 }
@@ -4,11 +4,13 @@ import com.nangoso.pricetracker.dto.AdminPriceDisableRequest;
 import com.nangoso.pricetracker.dto.AdminResponse;
 import com.nangoso.pricetracker.entity.Item;
 import com.nangoso.pricetracker.entity.ItemPrice;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
 import com.nangoso.pricetracker.repository.ItemPriceRepository;
 import com.nangoso.pricetracker.repository.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +28,9 @@ public class AdminService {
 
     private final ItemRepository itemRepository;
     private final ItemPriceRepository itemPriceRepository;
+    private final ItemDailyStatsService itemDailyStatsService;
+    private final PriceArchiveStore priceArchiveStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${admin.password}")
     private String adminPassword;
@@ -52,7 +57,13 @@ public class AdminService {
         LocalDate date = request.getDate();
         Long price = request.getPrice();
 
-        // 3. 해당 날짜의 모든 가격 데이터 조회
+        // 3. 보관(아카이브)된 날짜는 원본이 파일로 이동되어 변경할 수 없음
+        if (priceArchiveStore.isArchived(date)) {
+            log.warn("보관된 날짜의 가격 변경 요청. 아이템: {}, 날짜: {}", item.getName(), date);
+            return AdminResponse.error("보관 기간이 지나 아카이브된 날짜의 가격은 변경할 수 없습니다.");
+        }
+
+        // 4. 해당 날짜의 모든 가격 데이터 조회
         List<ItemPrice> prices = itemPriceRepository.findAllByItemAndDate(item, date);
 
         if (prices.isEmpty()) {
@@ -60,7 +71,7 @@ public class AdminService {
             return AdminResponse.error("해당 날짜에 가격 데이터가 없습니다.");
         }
 
-        // 4. 해당 가격과 일치하는 데이터 찾기 및 비활성화 처리
+        // 5. 해당 가격과 일치하는 데이터 찾기 및 비활성화 처리
         boolean found = false;
         int disabledCount = 0;
 
@@ -79,6 +90,10 @@ public class AdminService {
             return AdminResponse.error("해당 가격을 찾을 수 없거나 이미 비활성화되었습니다.");
         }
 
+        // 6. 해당 날짜의 일별 통계 재계산 (조회 캐시는 커밋 후 무효화)
+        itemDailyStatsService.rebuild(item, date);
+        eventPublisher.publishEvent(new ItemPricesChangedEvent(item.getItemCode()));
+
         String message = String.format("%d개의 가격 데이터를 비활성화했습니다. (아이템: %s, 날짜: %s, 가격: %,d원)", disabledCount, item.getName(), date, price);
         log.info(message);
         return AdminResponse.success(message);
@@ -0,0 +1,160 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.PriceAlertRule.AlertType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 가격 알림 규칙 인덱스
+ * 아이템마다 조건별로 기준값을 키로 한 정렬 맵을 두고, 마지막으로 관측한 평균가/변동률을 함께 보관합니다.
+ * 새 값이 들어오면 이전 값과 새 값 사이에 있는 기준값만 범위 조회하므로,
+ * 평가 비용은 전체 규칙 수가 아니라 이번에 기준선을 넘은 규칙 수에 비례합니다.
+ * 이미 넘어가 있는 기준선은 다시 알리지 않고, 값이 돌아왔다가 다시 넘으면 알립니다.
+ */
+public class AlertRuleIndex {
+
+  private final Map<String, ItemRules> rulesByItem = new HashMap<>();
+  private final Map<Long, Rule> rulesById = new HashMap<>();
+
+  /**
+   * @param webhookUrl 웹훅 주소 (없으면 null)
+   */
+  public record Rule(Long id, String itemCode, AlertType type, double threshold, String webhookUrl) {
+  }
+
+  public synchronized void add(Rule rule) {
+    remove(rule.id());
+    rulesById.put(rule.id(), rule);
+    rulesByItem.computeIfAbsent(rule.itemCode(), code -> new ItemRules())
+        .thresholds(rule.type())
+        .computeIfAbsent(rule.threshold(), threshold -> new ArrayList<>())
+        .add(rule);
+  }
+
+  public synchronized boolean remove(Long ruleId) {
+    Rule rule = rulesById.remove(ruleId);
+    if (rule == null) {
+      return false;
+    }
+    ItemRules itemRules = rulesByItem.get(rule.itemCode());
+    NavigableMap<Double, List<Rule>> thresholds = itemRules.thresholds(rule.type());
+    List<Rule> rules = thresholds.get(rule.threshold());
+    rules.removeIf(r -> r.id().equals(ruleId));
+    if (rules.isEmpty()) {
+      thresholds.remove(rule.threshold());
+    }
+    if (itemRules.isEmpty()) {
+      rulesByItem.remove(rule.itemCode());
+    }
+    return true;
+  }
+
+  public synchronized boolean hasRules(String itemCode) {
+    return rulesByItem.containsKey(itemCode);
+  }
+
+  public synchronized boolean hasObservation(String itemCode) {
+    ItemRules itemRules = rulesByItem.get(itemCode);
+    return itemRules != null && itemRules.lastPrice != null;
+  }
+
+  public synchronized Set<String> itemCodes() {
+    return Set.copyOf(rulesByItem.keySet());
+  }
+
+  public synchronized int size() {
+    return rulesById.size();
+  }
+
+  /**
+   * 알림 없이 현재 값만 기록합니다. (시작 시 또는 규칙을 처음 등록할 때 기준 상태 설정)
+   */
+  public synchronized void observe(String itemCode, LocalDate date, double avgPrice, Double changeRate) {
+    ItemRules itemRules = rulesByItem.get(itemCode);
+    if (itemRules != null) {
+      itemRules.record(date, avgPrice, changeRate);
+    }
+  }
+
+  /**
+   * 새 값으로 기준선을 넘은 규칙을 반환하고 현재 값을 기록합니다.
+   * 이전 관측이 없으면 지금 조건을 만족하는 가격 규칙을 모두 반환합니다.
+   *
+   * @param changeRate 전날 대비 변동률 (%, 전날 데이터가 없으면 null)
+   */
+  public synchronized List<Rule> evaluate(String itemCode, LocalDate date, double avgPrice, Double changeRate) {
+    ItemRules itemRules = rulesByItem.get(itemCode);
+    if (itemRules == null) {
+      return List.of();
+    }
+
+    List<Rule> triggered = new ArrayList<>();
+    Double previous = itemRules.lastPrice;
+
+    // 평균가 < 기준: 기준이 (새 값, 이전 값] 범위
+    collect(triggered, previous == null
+        ? itemRules.below.tailMap(avgPrice, false)
+        : previous <= avgPrice ? Map.of() : itemRules.below.subMap(avgPrice, false, previous, true));
+
+    // 평균가 > 기준: 기준이 [이전 값, 새 값) 범위
+    collect(triggered, previous == null
+        ? itemRules.above.headMap(avgPrice, false)
+        : previous >= avgPrice ? Map.of() : itemRules.above.subMap(previous, true, avgPrice, false));
+
+    // |변동률| > 기준: 같은 날의 이전 |변동률|부터 새 |변동률| 사이 (날짜가 바뀌면 0부터)
+    if (changeRate != null) {
+      double change = Math.abs(changeRate);
+      double previousChange = date.equals(itemRules.lastDate) ? itemRules.lastChange : 0.0;
+      if (change > previousChange) {
+        collect(triggered, itemRules.change.subMap(previousChange, true, change, false));
+      }
+    }
+
+    itemRules.record(date, avgPrice, changeRate);
+    return triggered;
+  }
+
+  private static void collect(List<Rule> triggered, Map<Double, List<Rule>> range) {
+    for (List<Rule> rules : range.values()) {
+      triggered.addAll(rules);
+    }
+  }
+
+  private static final class ItemRules {
+    private final NavigableMap<Double, List<Rule>> below = new TreeMap<>();
+    private final NavigableMap<Double, List<Rule>> above = new TreeMap<>();
+    private final NavigableMap<Double, List<Rule>> change = new TreeMap<>();
+
+    private Double lastPrice;
+    private LocalDate lastDate;
+    private double lastChange;
+
+    private NavigableMap<Double, List<Rule>> thresholds(AlertType type) {
+      return switch (type) {
+        case PRICE_BELOW -> below;
+        case PRICE_ABOVE -> above;
+        case CHANGE_ABOVE_PCT -> change;
+      };
+    }
+
+    private boolean isEmpty() {
+      return below.isEmpty() && above.isEmpty() && change.isEmpty();
+    }
+
+    private void record(LocalDate date, double avgPrice, Double changeRate) {
+      if (changeRate != null) {
+        lastChange = Math.abs(changeRate);
+      } else if (!date.equals(lastDate)) {
+        lastChange = 0.0;
+      }
+      lastPrice = avgPrice;
+      lastDate = date;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.nangoso.pricetracker.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 외부 API 수집 작업을 제한된 스레드 풀에서 동시에 실행하는 엔진
+ * 모든 요청은 공유 {@link RateLimiter}를 거치므로, 동시성 설정과 무관하게 전체 요청 속도는 설정된 예산을 넘지 않습니다.
+ */
+@Service
+@Slf4j
+public class CollectionEngine {
+
+  private final RateLimiter rateLimiter;
+  private final ExecutorService executor;
+  private final int concurrency;
+
+  public CollectionEngine(
+      @Value("${collector.concurrency:4}") int concurrency,
+      @Value("${collector.requests-per-second:1.0}") double requestsPerSecond,
+      @Value("${collector.burst:2}") int burst,
+      @Value("${collector.jitter-ms:500}") long jitterMillis) {
+    this.concurrency = Math.max(1, concurrency);
+    this.rateLimiter = new RateLimiter(requestsPerSecond, burst, jitterMillis);
+    this.executor = Executors.newFixedThreadPool(this.concurrency, collectorThreadFactory());
+
+    log.info("Collection engine initialized - Concurrency: {}, Requests/sec: {}, Burst: {}, Jitter: {} ms",
+        this.concurrency, requestsPerSecond, burst, jitterMillis);
+  }
+
+  /**
+   * 입력 목록을 동시에 가져오고, 결과는 호출 스레드에서 완료 순서대로 처리합니다.
+   * 동시에 진행 중인 작업은 (동시성 x 2)개로 제한되어 결과가 메모리에 쌓이지 않습니다.
+   *
+   * @param inputs   처리할 입력 목록
+   * @param fetcher  작업 스레드에서 실행할 요청 (속도 제한 적용)
+   * @param consumer 호출 스레드에서 실행할 결과 처리
+   * @param onError  요청 실패 시 호출 스레드에서 실행할 처리
+   */
+  public <T, R> void run(List<T> inputs, Function<T, R> fetcher, BiConsumer<T, R> consumer,
+      BiConsumer<T, Exception> onError) throws InterruptedException {
+    CompletionService<FetchResult<T, R>> completionService = new ExecutorCompletionService<>(executor);
+    Iterator<T> iterator = inputs.iterator();
+    int maxInFlight = concurrency * 2;
+    int inFlight = 0;
+
+    while (iterator.hasNext() || inFlight > 0) {
+      while (iterator.hasNext() && inFlight < maxInFlight) {
+        T input = iterator.next();
+        completionService.submit(() -> fetch(input, fetcher));
+        inFlight++;
+      }
+
+      FetchResult<T, R> result;
+      try {
+        result = completionService.take().get();
+      } catch (ExecutionException e) {
+        // fetch()가 모든 예외를 결과로 감싸므로 여기에 도달하지 않습니다.
+        throw new IllegalStateException(e.getCause());
+      }
+      inFlight--;
+
+      if (result.error() != null) {
+        onError.accept(result.input(), result.error());
+      } else {
+        consumer.accept(result.input(), result.value());
+      }
+    }
+  }
+
+  private <T, R> FetchResult<T, R> fetch(T input, Function<T, R> fetcher) {
+    try {
+      rateLimiter.acquire();
+      return new FetchResult<>(input, fetcher.apply(input), null);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new FetchResult<>(input, null, e);
+    } catch (Exception e) {
+      return new FetchResult<>(input, null, e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static ThreadFactory collectorThreadFactory() {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "collector-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record FetchResult<T, R>(T input, R value, Exception error) {
+  }
+}
@@ -0,0 +1,55 @@
+package com.nangoso.pricetracker.service;
+
+/**
+ * 아이템별 가격 수집 주기 계산
+ * 조회수, 최근 가격 변동성, 판매 목록 교체율을 0~1 점수로 합쳐, 점수 1이면 최소 주기, 0이면 최대 주기를 사용합니다.
+ * 주기는 두 값 사이를 기하 보간하므로 점수가 조금만 올라도 하루 주기에서 빠르게 짧아집니다.
+ */
+public final class CollectionPriority {
+
+  private static final double VIEW_WEIGHT = 0.6;
+  private static final double VOLATILITY_WEIGHT = 0.25;
+  private static final double CHURN_WEIGHT = 0.15;
+
+  // 수집 사이 중앙값이 이 비율만큼 움직이면 변동성 점수 1
+  private static final double VOLATILITY_SCALE = 0.05;
+
+  // 변동성/교체율 지수 이동 평균 가중치 (새 관측값 비중)
+  private static final double SMOOTHING = 0.3;
+
+  private CollectionPriority() {
+  }
+
+  /**
+   * 수집 우선순위 점수 (0~1)
+   *
+   * @param viewCount    아이템 조회수
+   * @param hotViewCount 조회수 점수가 1이 되는 조회수
+   * @param volatility   수집 사이 중앙값 변동률의 이동 평균
+   * @param churn        판매 목록 중 새로 올라온 비율의 이동 평균
+   */
+  public static double score(long viewCount, long hotViewCount, double volatility, double churn) {
+    double viewScore = hotViewCount <= 0
+        ? 0.0
+        : Math.min(1.0, Math.log1p(Math.max(0, viewCount)) / Math.log1p(hotViewCount));
+    double volatilityScore = Math.min(1.0, Math.max(0.0, volatility) / VOLATILITY_SCALE);
+    double churnScore = Math.min(1.0, Math.max(0.0, churn));
+    return VIEW_WEIGHT * viewScore + VOLATILITY_WEIGHT * volatilityScore + CHURN_WEIGHT * churnScore;
+  }
+
+  /**
+   * 점수에 따른 수집 주기 (분)
+   */
+  public static int intervalMinutes(double score, int minMinutes, int maxMinutes) {
+    double clamped = Math.min(1.0, Math.max(0.0, score));
+    double interval = maxMinutes * Math.pow((double) minMinutes / maxMinutes, clamped);
+    return (int) Math.max(minMinutes, Math.min(maxMinutes, Math.round(interval)));
+  }
+
+  /**
+   * 지수 이동 평균 (이전 값이 없으면 새 관측값)
+   */
+  public static double smooth(Double previous, double sample) {
+    return previous == null ? sample : previous + SMOOTHING * (sample - previous);
+  }
+}
@@ -0,0 +1,207 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.CollectionCheckpoint;
+import com.nangoso.pricetracker.entity.CollectionRun;
+import com.nangoso.pricetracker.repository.CollectionCheckpointRepository;
+import com.nangoso.pricetracker.repository.CollectionRunRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 수집 작업 실행 기록과 체크포인트 관리 서비스
+ * 아이템 단위로 짧은 트랜잭션을 커밋하여, 재시작 시 마지막 체크포인트 이후부터 이어서 진행합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CollectionRunService {
+
+  private final CollectionRunRepository collectionRunRepository;
+  private final CollectionCheckpointRepository collectionCheckpointRepository;
+
+  /**
+   * 오늘 중단된 실행이 있으면 이어서 진행하고, 없으면 새 실행을 시작합니다.
+   * 이전 날짜에 중단된 실행은 ABANDONED로 종료합니다.
+   */
+  @Transactional
+  public CollectionRun startOrResume(CollectionRun.RunType type, int totalItems) {
+    LocalDate today = LocalDate.now();
+    CollectionRun resumable = null;
+
+    List<CollectionRun> runningRuns =
+        collectionRunRepository.findByTypeAndStatusOrderByStartedAtDesc(type, CollectionRun.RunStatus.RUNNING);
+    for (CollectionRun run : runningRuns) {
+      if (resumable == null && run.getRunDate().equals(today)) {
+        resumable = run;
+        continue;
+      }
+      run.setStatus(CollectionRun.RunStatus.ABANDONED);
+      run.setFinishedAt(LocalDateTime.now());
+      collectionCheckpointRepository.deleteByRunId(run.getId());
+      log.info("Abandoned stale {} run {} started at {}", type, run.getId(), run.getStartedAt());
+    }
+
+    if (resumable != null) {
+      resumable.setTotalItems(totalItems);
+      log.info("Resuming {} run {} - {} items already completed",
+          type, resumable.getId(), resumable.getCompletedItems());
+      return resumable;
+    }
+
+    CollectionRun run = collectionRunRepository.save(CollectionRun.builder()
+        .type(type)
+        .runDate(today)
+        .totalItems(totalItems)
+        .build());
+    log.info("Started {} run {}", type, run.getId());
+    return run;
+  }
+
+  /**
+   * 이어서 진행하지 않는 작업의 새 실행을 시작합니다. 실행 중으로 남아있던 같은 종류의 실행은 ABANDONED로 종료합니다.
+   */
+  @Transactional
+  public CollectionRun start(CollectionRun.RunType type) {
+    for (CollectionRun run :
+        collectionRunRepository.findByTypeAndStatusOrderByStartedAtDesc(type, CollectionRun.RunStatus.RUNNING)) {
+      run.setStatus(CollectionRun.RunStatus.ABANDONED);
+      run.setFinishedAt(LocalDateTime.now());
+      log.info("Abandoned stale {} run {} started at {}", type, run.getId(), run.getStartedAt());
+    }
+
+    CollectionRun run = collectionRunRepository.save(CollectionRun.builder()
+        .type(type)
+        .runDate(LocalDate.now())
+        .build());
+    log.info("Started {} run {}", type, run.getId());
+    return run;
+  }
+
+  /**
+   * 오늘의 주기 실행을 가져오거나 새로 시작합니다.
+   * 스케줄러 주기마다 수집하는 작업은 주기마다 실행을 만들지 않고 하루 단위 실행 하나에 진행률을 누적합니다.
+   */
+  @Transactional
+  public CollectionRun currentCycle(CollectionRun.RunType type) {
+    LocalDate today = LocalDate.now();
+    Optional<CollectionRun> current = collectionRunRepository
+        .findFirstByTypeAndStatusOrderByStartedAtDesc(type, CollectionRun.RunStatus.RUNNING)
+        .filter(run -> run.getRunDate().equals(today));
+    if (current.isPresent()) {
+      return current.get();
+    }
+
+    CollectionRun run = collectionRunRepository.save(CollectionRun.builder()
+        .type(type)
+        .runDate(today)
+        .build());
+    log.info("Started {} cycle {} for {}", type, run.getId(), today);
+    return run;
+  }
+
+  /**
+   * 이전 날짜의 주기 실행을 완료 상태로 변경합니다.
+   *
+   * @return 완료한 실행 ID 목록
+   */
+  @Transactional
+  public List<Long> completeStaleCycles(CollectionRun.RunType type) {
+    LocalDate today = LocalDate.now();
+    List<Long> completed = new ArrayList<>();
+    for (CollectionRun run :
+        collectionRunRepository.findByTypeAndStatusOrderByStartedAtDesc(type, CollectionRun.RunStatus.RUNNING)) {
+      if (!run.getRunDate().isBefore(today)) {
+        continue;
+      }
+      run.setStatus(CollectionRun.RunStatus.COMPLETED);
+      run.setFinishedAt(LocalDateTime.now());
+      completed.add(run.getId());
+      log.info("Completed {} cycle {} for {} - {}/{} items collected",
+          type, run.getId(), run.getRunDate(), run.getCompletedItems(), run.getTotalItems());
+    }
+    return completed;
+  }
+
+  /**
+   * 주기 실행에 한 주기의 결과(대상, 처리 완료, 변경 없음 아이템 수)를 누적합니다.
+   */
+  @Transactional
+  public void addCycleProgress(Long runId, int scheduledItems, int completedItems, int unchangedItems) {
+    collectionRunRepository.addCycleProgress(runId, scheduledItems, completedItems, unchangedItems);
+  }
+
+  /**
+   * 실행 조회
+   */
+  public Optional<CollectionRun> findRun(Long runId) {
+    return collectionRunRepository.findById(runId);
+  }
+
+  /**
+   * 가장 최근에 완료된 실행 조회
+   */
+  public Optional<CollectionRun> findLastCompletedRun(CollectionRun.RunType type) {
+    return collectionRunRepository.findFirstByTypeAndStatusOrderByStartedAtDesc(type, CollectionRun.RunStatus.COMPLETED);
+  }
+
+  /**
+   * 실행에서 처리 완료된 아이템 코드 조회
+   */
+  public Set<String> findCompletedItemCodes(Long runId) {
+    return new HashSet<>(collectionCheckpointRepository.findItemCodesByRunId(runId));
+  }
+
+  /**
+   * 아이템 처리 완료를 기록합니다.
+   */
+  @Transactional
+  public void checkpoint(Long runId, String itemCode) {
+    collectionCheckpointRepository.save(CollectionCheckpoint.builder()
+        .runId(runId)
+        .itemCode(itemCode)
+        .build());
+    collectionRunRepository.incrementCompletedItems(runId);
+  }
+
+  /**
+   * 처리 대상 수를 기록합니다.
+   */
+  @Transactional
+  public void updateTotalItems(Long runId, int totalItems) {
+    collectionRunRepository.updateTotalItems(runId, totalItems);
+  }
+
+  /**
+   * 처리 완료 수와 변경된 데이터 수를 누적합니다. (체크포인트 없이 진행률만 기록하는 작업용)
+   */
+  @Transactional
+  public void addProgress(Long runId, int completed, int updatedRows) {
+    collectionRunRepository.addProgress(runId, completed, updatedRows);
+  }
+
+  /**
+   * 실행을 실패 상태로 변경합니다.
+   */
+  @Transactional
+  public void fail(Long runId) {
+    collectionRunRepository.updateStatus(runId, CollectionRun.RunStatus.FAILED, LocalDateTime.now());
+  }
+
+  /**
+   * 실행을 완료 상태로 변경합니다. 완료된 실행의 체크포인트는 더 이상 필요 없으므로 삭제합니다.
+   */
+  @Transactional
+  public void complete(Long runId) {
+    collectionRunRepository.updateStatus(runId, CollectionRun.RunStatus.COMPLETED, LocalDateTime.now());
+    collectionCheckpointRepository.deleteByRunId(runId);
+  }
+}
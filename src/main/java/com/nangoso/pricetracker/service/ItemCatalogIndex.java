@@ -0,0 +1,350 @@
+package com.nangoso.pricetracker.service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+/**
+ * 아이템 코드 카탈로그 인덱스
+ * 아이템 코드 목록(TXT), 선택적으로 PDF와 가져오기 폴더의 아이템 덤프(TXT)를 한 번 파싱하여
+ * 코드 순으로 정렬된 고정 길이 항목(코드, 분류, 이름 위치)과 이름 바이트로 이루어진 바이너리 파일을 만들고, 메모리 맵으로 읽습니다.
+ * 원본의 SHA-256이 바뀐 경우에만 다시 만들므로, 시작 시에는 원본 파싱이나 PDFBox 없이 파일을 매핑만 합니다.
+ *
+ * 파일 형식: magic(4) version(4) checksum(32) entryCount(4) categoryCount(4) namesLength(4)
+ * | 분류 이름 (길이 2 + UTF-8) x categoryCount | 항목 (code 4, category 2, nameOffset 4, nameLength 2) x entryCount | 이름 UTF-8
+ */
+@Service
+@Slf4j
+public class ItemCatalogIndex {
+
+  private static final String TXT_PATH = "static/files/item-codes.txt";
+  private static final String PDF_PATH = "static/files/items-code.pdf";
+
+  // "코드 // [분류] 이름" 형식 (분류는 선택)
+  private static final Pattern LINE_PATTERN = Pattern.compile("^(\\d{7})\\s*//\\s*(?:\\[([^\\]]+)\\]\\s*)?(.*)$");
+
+  private static final int MAGIC = 0x4D494331; // "MIC1"
+  private static final int FORMAT_VERSION = 1;
+  private static final int CHECKSUM_BYTES = 32;
+  private static final int HEADER_BYTES = 4 + 4 + CHECKSUM_BYTES + 4 + 4 + 4;
+  private static final int ENTRY_BYTES = 4 + 2 + 4 + 2;
+
+  private final Path indexPath;
+  private final Path importDir;
+
+  private volatile Catalog catalog = Catalog.EMPTY;
+
+  public ItemCatalogIndex(
+      @Value("${catalog.index-path:./data/catalog/item-catalog.idx}") String indexPath,
+      @Value("${catalog.import-dir:./data/catalog/import}") String importDir) {
+    this.indexPath = Paths.get(indexPath);
+    this.importDir = Paths.get(importDir);
+  }
+
+  /**
+   * 원본 체크섬을 확인하여 인덱스 파일을 매핑합니다. (바뀌었거나 파일이 없으면 다시 만든 뒤 매핑)
+   */
+  @PostConstruct
+  public void open() {
+    try {
+      List<Source> sources = listSources();
+      byte[] checksum = checksum(sources);
+
+      if (!checksumMatches(checksum)) {
+        long startTime = System.currentTimeMillis();
+        int entryCount = rebuild(sources, checksum);
+        log.info("Item catalog index rebuilt - {} codes from {} sources ({}ms)",
+            entryCount, sources.size(), System.currentTimeMillis() - startTime);
+      }
+
+      catalog = map(indexPath);
+      log.info("Item catalog index mapped - {} codes, {} categories", catalog.entryCount, catalog.categories.length);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open item catalog index: " + indexPath, e);
+    }
+  }
+
+  public int size() {
+    return catalog.entryCount;
+  }
+
+  /**
+   * 전체 아이템 코드 (코드 순)
+   */
+  public List<String> getItemCodes() {
+    Catalog current = catalog;
+    List<String> itemCodes = new ArrayList<>(current.entryCount);
+    for (int i = 0; i < current.entryCount; i++) {
+      itemCodes.add(formatCode(current.code(i)));
+    }
+    return itemCodes;
+  }
+
+  /**
+   * 분류에 속한 아이템 코드 (코드 순, 예: "Mastery Book")
+   */
+  public List<String> findCodesByCategory(String category) {
+    Catalog current = catalog;
+    int categoryId = Arrays.asList(current.categories).indexOf(category);
+    List<String> itemCodes = new ArrayList<>();
+    if (categoryId < 0) {
+      return itemCodes;
+    }
+    for (int i = 0; i < current.entryCount; i++) {
+      if (current.categoryId(i) == categoryId) {
+        itemCodes.add(formatCode(current.code(i)));
+      }
+    }
+    return itemCodes;
+  }
+
+  public boolean contains(String itemCode) {
+    return catalog.indexOf(itemCode) >= 0;
+  }
+
+  /**
+   * "코드 // [분류] 이름" 한 줄을 파싱합니다. (형식이 아니면 null)
+   */
+  static CatalogLine parseLine(String line) {
+    Matcher matcher = LINE_PATTERN.matcher(line.trim());
+    if (!matcher.matches()) {
+      return null;
+    }
+    String category = matcher.group(2);
+    return new CatalogLine(Integer.parseInt(matcher.group(1)),
+        category != null ? category.trim() : "", matcher.group(3).trim());
+  }
+
+  /**
+   * 인덱스 원본 목록 (순서가 체크섬과 중복 코드 우선순위를 결정: TXT, PDF, 가져오기 폴더 파일 이름순)
+   */
+  private List<Source> listSources() throws IOException {
+    List<Source> sources = new ArrayList<>();
+
+    ClassPathResource txt = new ClassPathResource(TXT_PATH);
+    if (txt.exists()) {
+      try (InputStream inputStream = txt.getInputStream()) {
+        sources.add(new Source(TXT_PATH, inputStream.readAllBytes(), false));
+      }
+    }
+
+    ClassPathResource pdf = new ClassPathResource(PDF_PATH);
+    if (pdf.exists()) {
+      try (InputStream inputStream = pdf.getInputStream()) {
+        sources.add(new Source(PDF_PATH, inputStream.readAllBytes(), true));
+      }
+    }
+
+    if (Files.isDirectory(importDir)) {
+      try (Stream<Path> files = Files.list(importDir)) {
+        for (Path file : files.filter(path -> path.getFileName().toString().endsWith(".txt")).sorted().toList()) {
+          sources.add(new Source(file.getFileName().toString(), Files.readAllBytes(file), false));
+        }
+      }
+    }
+    return sources;
+  }
+
+  private static byte[] checksum(List<Source> sources) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (Source source : sources) {
+        digest.update(source.name().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(source.content());
+      }
+      return digest.digest();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private boolean checksumMatches(byte[] checksum) throws IOException {
+    if (!Files.exists(indexPath) || Files.size(indexPath) < HEADER_BYTES) {
+      return false;
+    }
+    try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(8 + CHECKSUM_BYTES);
+      channel.read(header, 0);
+      header.flip();
+      if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+        return false;
+      }
+      byte[] stored = new byte[CHECKSUM_BYTES];
+      header.get(stored);
+      return Arrays.equals(stored, checksum);
+    }
+  }
+
+  /**
+   * 원본을 파싱하여 인덱스 파일을 다시 만듭니다. (임시 파일에 쓴 뒤 교체)
+   *
+   * @return 항목 수
+   */
+  private int rebuild(List<Source> sources, byte[] checksum) throws IOException {
+    // 같은 코드는 먼저 나온 원본을 사용
+    Map<Integer, CatalogLine> byCode = new HashMap<>();
+    for (Source source : sources) {
+      List<String> lines = source.pdf()
+          ? PdfParserService.extractLines(source.content())
+          : Arrays.asList(new String(source.content(), StandardCharsets.UTF_8).split("\\r?\\n"));
+      for (String line : lines) {
+        CatalogLine parsed = parseLine(line);
+        if (parsed != null) {
+          byCode.putIfAbsent(parsed.code(), parsed);
+        }
+      }
+    }
+
+    CatalogLine[] entries = byCode.values().toArray(new CatalogLine[0]);
+    Arrays.sort(entries, (a, b) -> Integer.compare(a.code(), b.code()));
+
+    Map<String, Integer> categoryIds = new LinkedHashMap<>();
+    categoryIds.put("", 0);
+    ByteArrayOutputStream names = new ByteArrayOutputStream();
+    ByteBuffer entryBuffer = ByteBuffer.allocate(entries.length * ENTRY_BYTES);
+    for (CatalogLine entry : entries) {
+      byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+      int nameLength = Math.min(name.length, 0xFFFF);
+      entryBuffer.putInt(entry.code());
+      entryBuffer.putShort((short) (int) categoryIds.computeIfAbsent(entry.category(), key -> categoryIds.size()));
+      entryBuffer.putInt(names.size());
+      entryBuffer.putShort((short) nameLength);
+      names.write(name, 0, nameLength);
+    }
+
+    Files.createDirectories(indexPath.toAbsolutePath().getParent());
+    Path tempFile = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.write(checksum);
+      out.writeInt(entries.length);
+      out.writeInt(categoryIds.size());
+      out.writeInt(names.size());
+      for (String category : categoryIds.keySet()) {
+        byte[] bytes = category.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+      }
+      out.write(entryBuffer.array());
+      names.writeTo(out);
+    }
+    Files.move(tempFile, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return entries.length;
+  }
+
+  private static Catalog map(Path indexPath) throws IOException {
+    try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.position(8 + CHECKSUM_BYTES);
+      int entryCount = buffer.getInt();
+      int categoryCount = buffer.getInt();
+      buffer.getInt(); // 이름 바이트 길이
+
+      String[] categories = new String[categoryCount];
+      for (int i = 0; i < categoryCount; i++) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        categories[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      return new Catalog(buffer, entryCount, categories, buffer.position());
+    }
+  }
+
+  private static String formatCode(int code) {
+    return String.format("%07d", code);
+  }
+
+  /**
+   * 파싱된 카탈로그 한 줄
+   */
+  record CatalogLine(int code, String category, String name) {
+  }
+
+  private record Source(String name, byte[] content, boolean pdf) {
+  }
+
+  /**
+   * 매핑된 인덱스 (절대 위치로만 읽으므로 여러 스레드에서 함께 사용)
+   */
+  private static final class Catalog {
+
+    private static final Catalog EMPTY = new Catalog(ByteBuffer.allocate(0), 0, new String[]{""}, 0);
+
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final String[] categories;
+    private final int entriesStart;
+
+    private Catalog(ByteBuffer buffer, int entryCount, String[] categories, int entriesStart) {
+      this.buffer = buffer;
+      this.entryCount = entryCount;
+      this.categories = categories;
+      this.entriesStart = entriesStart;
+    }
+
+    int code(int index) {
+      return buffer.getInt(entriesStart + index * ENTRY_BYTES);
+    }
+
+    int categoryId(int index) {
+      return buffer.getShort(entriesStart + index * ENTRY_BYTES + 4) & 0xFFFF;
+    }
+
+    /**
+     * 코드의 항목 위치 (이진 탐색, 없으면 -1)
+     */
+    int indexOf(String itemCode) {
+      int code;
+      try {
+        code = Integer.parseInt(itemCode);
+      } catch (NumberFormatException e) {
+        return -1;
+      }
+
+      int low = 0;
+      int high = entryCount - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int midCode = code(mid);
+        if (midCode < code) {
+          low = mid + 1;
+        } else if (midCode > code) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -1;
+    }
+  }
+}
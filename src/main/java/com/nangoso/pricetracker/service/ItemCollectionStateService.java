@@ -0,0 +1,164 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.TradeFetchResult;
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemCollectionState;
+import com.nangoso.pricetracker.repository.ItemCollectionStateRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 아이템별 가격 수집 상태(변경 감지, 수집 주기) 관리 서비스
+ * 수집이 끝날 때마다 조회수, 가격 변동성, 판매 목록 교체율로 다음 수집 시각을 정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemCollectionStateService {
+
+  private final ItemCollectionStateRepository itemCollectionStateRepository;
+  private final ItemRepository itemRepository;
+  private final ViewCountService viewCountService;
+
+  @Value("${collector.schedule.min-interval-minutes:60}")
+  private int minIntervalMinutes;
+
+  @Value("${collector.schedule.max-interval-minutes:1440}")
+  private int maxIntervalMinutes;
+
+  @Value("${collector.schedule.hot-view-count:1000}")
+  private long hotViewCount;
+
+  // 수집에 실패한 아이템의 재시도 가능 시각 (메모리, 실패한 아이템이 대기열 앞을 계속 차지하지 않도록)
+  private final Map<Long, LocalDateTime> retryAfter = new ConcurrentHashMap<>();
+
+  /**
+   * 수집 시각이 된 아이템을 우선순위 순서로 조회합니다. (재시도 대기 중인 아이템 제외)
+   */
+  public List<Item> findDueItems(LocalDateTime now, int limit) {
+    retryAfter.values().removeIf(time -> !time.isAfter(now));
+    return itemRepository.findDueForCollection(now, PageRequest.of(0, limit + retryAfter.size())).stream()
+        .filter(item -> !retryAfter.containsKey(item.getId()))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 수집에 실패한 아이템은 최소 주기가 지난 뒤 다시 수집합니다.
+   */
+  public void markFailed(Item item) {
+    retryAfter.put(item.getId(), LocalDateTime.now().plusMinutes(minIntervalMinutes));
+  }
+
+  /**
+   * 아이템 ID별 수집 상태를 한 번의 쿼리로 조회합니다. (수집 스레드와 저장 스레드가 함께 사용)
+   */
+  public Map<Long, ItemCollectionState> loadStates(List<Item> items) {
+    Map<Long, ItemCollectionState> states = new ConcurrentHashMap<>();
+    if (items.isEmpty()) {
+      return states;
+    }
+    for (ItemCollectionState state : itemCollectionStateRepository.findByItemIn(items)) {
+      states.put(state.getItem().getId(), state);
+    }
+    return states;
+  }
+
+  /**
+   * 같은 날짜에 기록된 상태만 반환합니다. (날짜가 바뀌면 모든 판매 목록을 새로 저장해야 함)
+   */
+  public static ItemCollectionState sameDayState(Map<Long, ItemCollectionState> states, Item item, LocalDate date) {
+    ItemCollectionState state = states.get(item.getId());
+    return state != null && date.equals(state.getFingerprintDate()) ? state : null;
+  }
+
+  /**
+   * 내용이 바뀌어 저장한 결과를 기록하고 다음 수집 시각을 정합니다.
+   *
+   * @param state            이전 상태 (날짜와 무관, 없으면 null)
+   * @param observedPrices   이번 수집에서 관측한 정상 가격
+   * @param newListingCount  이번 수집에서 새로 저장한 판매 목록 수
+   * @return 저장된 상태
+   */
+  @Transactional
+  public ItemCollectionState recordCollected(ItemCollectionState state, Item item, LocalDate date,
+      TradeFetchResult fetched, long contentHash, long[] observedPrices, int newListingCount) {
+    if (state == null) {
+      state = ItemCollectionState.builder().item(item).build();
+    }
+
+    PriceSketch sketch = new PriceSketch();
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (long price : observedPrices) {
+      sketch.update(price);
+      sum += price;
+      min = Math.min(min, price);
+      max = Math.max(max, price);
+    }
+
+    // 이전 관측 대비 중앙값 변동률과 새로 올라온 판매 목록 비율
+    double volatilitySample = 0.0;
+    if (!sketch.isEmpty() && state.getObservedSketch() != null) {
+      long previousMedian = PriceSketch.fromBytes(state.getObservedSketch()).quantile(0.5);
+      if (previousMedian > 0) {
+        volatilitySample = Math.abs(sketch.quantile(0.5) - previousMedian) / (double) previousMedian;
+      }
+    }
+    int listingCount = fetched.getListings().size();
+    double churnSample = listingCount == 0 ? 0.0 : Math.min(1.0, (double) newListingCount / listingCount);
+
+    boolean observed = observedPrices.length > 0;
+    state.setEtag(fetched.getEtag());
+    state.setLastModified(fetched.getLastModified());
+    state.setContentHash(contentHash);
+    state.setFingerprintDate(date);
+    state.setObservedCount(observedPrices.length);
+    state.setObservedSum(observed ? sum : null);
+    state.setObservedMin(observed ? min : null);
+    state.setObservedMax(observed ? max : null);
+    state.setObservedSketch(observed ? sketch.toBytes() : null);
+    state.setCollectedAt(LocalDateTime.now());
+    schedule(state, item, volatilitySample, churnSample);
+    return itemCollectionStateRepository.save(state);
+  }
+
+  /**
+   * 내용이 바뀌지 않은 수집을 기록합니다. 응답 검증자가 바뀌었으면 갱신하고 (다음 실행에서 304를 받을 수 있도록),
+   * 변동이 없었던 것으로 보고 다음 수집 시각을 정합니다.
+   *
+   * @return 저장된 상태
+   */
+  @Transactional
+  public ItemCollectionState recordUnchanged(ItemCollectionState state, Item item, TradeFetchResult fetched) {
+    if (!fetched.isNotModified()) {
+      state.setEtag(fetched.getEtag());
+      state.setLastModified(fetched.getLastModified());
+    }
+    schedule(state, item, 0.0, 0.0);
+    return itemCollectionStateRepository.save(state);
+  }
+
+  private void schedule(ItemCollectionState state, Item item, double volatilitySample, double churnSample) {
+    state.setVolatility(CollectionPriority.smooth(state.getVolatility(), volatilitySample));
+    state.setChurn(CollectionPriority.smooth(state.getChurn(), churnSample));
+
+    double score = CollectionPriority.score(viewCountService.getViewCount(item.getItemCode()), hotViewCount,
+        state.getVolatility(), state.getChurn());
+    int interval = CollectionPriority.intervalMinutes(score, minIntervalMinutes, maxIntervalMinutes);
+    state.setIntervalMinutes(interval);
+    state.setNextDueAt(LocalDateTime.now().plusMinutes(interval));
+  }
+}
@@ -0,0 +1,172 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
+import com.nangoso.pricetracker.repository.ItemPriceRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 아이템 일별 가격 통계(item_daily_stats) 관리 서비스
+ * 새 ACTIVE 가격은 기존 통계에 증분 병합하고, 비활성화처럼 값이 빠지는 변경은 해당 일자만 원본에서 다시 계산합니다.
+ * 중앙값/사분위수는 일자별로 함께 저장하는 분위수 스케치({@link PriceSketch})에서 계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemDailyStatsService {
+
+  private static final int SKETCH_BACKFILL_CHUNK_SIZE = 200;
+
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final ItemPriceRepository itemPriceRepository;
+  private final ItemRepository itemRepository;
+  private final PriceRollupService priceRollupService;
+  private final PriceArchiveStore priceArchiveStore;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * 새로 저장된 ACTIVE 가격을 일별 통계와 분위수 스케치에 병합합니다.
+   * 가격 저장과 같은 트랜잭션에서 호출되어 통계와 원본이 함께 커밋됩니다.
+   */
+  @Transactional
+  public void recordInserted(Item item, LocalDate date, long[] activePrices) {
+    if (activePrices.length == 0) {
+      return;
+    }
+
+    ItemDailyStats stats = itemDailyStatsRepository.findForUpdate(item, date).orElse(null);
+    if (stats != null && stats.getPriceSketch() == null) {
+      // 스케치 도입 이전 통계는 병합할 수 없으므로 원본에서 다시 계산
+      rebuild(item, date);
+      return;
+    }
+
+    PriceSketch sketch;
+    if (stats == null) {
+      stats = ItemDailyStats.empty(item, date);
+      sketch = new PriceSketch();
+    } else {
+      sketch = PriceSketch.fromBytes(stats.getPriceSketch());
+    }
+
+    stats.merge(activePrices);
+    for (long price : activePrices) {
+      sketch.update(price);
+    }
+    stats.setPriceSketch(sketch.toBytes());
+    itemDailyStatsRepository.save(stats);
+    priceRollupService.recordDaily(item, date, activePrices);
+  }
+
+  /**
+   * 특정 아이템의 특정 날짜 통계를 원본 가격에서 다시 계산하고, 날짜가 속한 주/월 집계도 다시 계산합니다.
+   * ACTIVE 가격이 남아있지 않으면 통계를 삭제합니다.
+   */
+  @Transactional
+  public void rebuild(Item item, LocalDate date) {
+    rebuildDaily(item, date);
+    priceRollupService.rebuildFromDaily(item, date);
+  }
+
+  private void rebuildDaily(Item item, LocalDate date) {
+    long[] prices = findActivePrices(item, date);
+
+    ItemDailyStats stats = itemDailyStatsRepository.findForUpdate(item, date).orElse(null);
+    if (prices.length == 0) {
+      if (stats != null) {
+        itemDailyStatsRepository.delete(stats);
+      }
+      return;
+    }
+
+    ItemDailyStats rebuilt = ItemDailyStats.empty(item, date);
+    rebuilt.merge(prices);
+    if (stats == null) {
+      stats = rebuilt;
+    }
+    stats.setCount(rebuilt.getCount());
+    stats.setPriceSum(rebuilt.getPriceSum());
+    stats.setMinPrice(rebuilt.getMinPrice());
+    stats.setMaxPrice(rebuilt.getMaxPrice());
+    stats.setPriceSketch(buildSketch(prices));
+    itemDailyStatsRepository.save(stats);
+  }
+
+  /**
+   * 일별 통계 테이블이 비어있으면 기존 가격 데이터로 한 번에 채웁니다. (최초 도입 시)
+   */
+  @Transactional
+  public void backfillIfEmpty() {
+    if (itemDailyStatsRepository.count() > 0 || itemPriceRepository.count() == 0) {
+      return;
+    }
+
+    log.info("Backfilling item_daily_stats from item_prices...");
+    List<Object[]> aggregates = itemPriceRepository.findActiveAggregatesGroupByItemAndDate();
+
+    for (Object[] aggregate : aggregates) {
+      ItemDailyStats stats = ItemDailyStats.builder()
+          .item(itemRepository.getReferenceById((Long) aggregate[0]))
+          .date((LocalDate) aggregate[1])
+          .count(((Long) aggregate[2]).intValue())
+          .priceSum((Long) aggregate[3])
+          .minPrice((Long) aggregate[4])
+          .maxPrice((Long) aggregate[5])
+          .build();
+      itemDailyStatsRepository.save(stats);
+    }
+
+    log.info("Backfilled {} item-day statistics", aggregates.size());
+  }
+
+  /**
+   * 분위수 스케치가 없는 통계(스케치 도입 이전 데이터)의 스케치를 원본 가격에서 만듭니다.
+   * 원본이 남아있지 않은 날짜는 빈 스케치를 기록하여 다시 처리하지 않습니다.
+   */
+  public void backfillSketches() {
+    List<Long> ids = itemDailyStatsRepository.findIdsWithoutSketch();
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    log.info("Building price sketches for {} item-day statistics...", ids.size());
+    for (int from = 0; from < ids.size(); from += SKETCH_BACKFILL_CHUNK_SIZE) {
+      List<Long> chunk = ids.subList(from, Math.min(from + SKETCH_BACKFILL_CHUNK_SIZE, ids.size()));
+      transactionTemplate.executeWithoutResult(status -> {
+        for (ItemDailyStats stats : itemDailyStatsRepository.findAllById(chunk)) {
+          stats.setPriceSketch(buildSketch(findActivePrices(stats.getItem(), stats.getDate())));
+        }
+      });
+    }
+    log.info("Built price sketches for {} item-day statistics", ids.size());
+  }
+
+  /**
+   * 원본 ACTIVE 가격 조회 (원본 테이블에 없고 보관된 날짜면 보관 파일에서 조회)
+   */
+  private long[] findActivePrices(Item item, LocalDate date) {
+    long[] prices = itemPriceRepository.findActivePricesByItemAndDate(item, date).stream()
+        .mapToLong(Long::longValue)
+        .toArray();
+    if (prices.length == 0 && priceArchiveStore.isArchived(date)) {
+      return priceArchiveStore.readActivePrices(item.getId(), date);
+    }
+    return prices;
+  }
+
+  private static byte[] buildSketch(long[] prices) {
+    PriceSketch sketch = new PriceSketch();
+    for (long price : prices) {
+      sketch.update(price);
+    }
+    return sketch.toBytes();
+  }
+}
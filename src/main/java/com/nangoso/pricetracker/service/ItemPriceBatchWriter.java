@@ -0,0 +1,110 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemPrice;
+import com.nangoso.pricetracker.repository.ItemPriceRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 가격 데이터 대량 저장 서비스
+ * 중복 판별은 URL 집합 한 번 조회로, 저장은 JDBC 배치 INSERT와 일정 크기 단위 커밋으로 처리합니다.
+ * 조회한 URL 집합은 아이템별로 메모리에 두고 커밋된 URL을 더해가므로, 같은 날 다음 수집부터는 조회 없이 비교합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemPriceBatchWriter {
+
+  private final ItemPriceRepository itemPriceRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+  private int batchSize;
+
+  @Value("${collector.commit-chunk-size:500}")
+  private int commitChunkSize;
+
+  // 아이템 ID별 저장된 URL 집합 (아이템마다 가장 최근 날짜 하나만 보관)
+  private final Map<Long, DayUrls> urlCache = new ConcurrentHashMap<>();
+  private final AtomicLong urlCacheHits = new AtomicLong();
+  private final AtomicLong urlCacheMisses = new AtomicLong();
+
+  /**
+   * 특정 아이템의 특정 날짜에 이미 저장된 URL 집합을 조회합니다. (호출하는 쪽에서 변경해도 되는 복사본)
+   * 메모리에 같은 날짜의 집합이 있으면 그대로 쓰고, 없으면 한 번의 쿼리로 조회하여 보관합니다.
+   */
+  public Set<String> loadExistingUrls(Item item, LocalDate date) {
+    DayUrls cached = urlCache.get(item.getId());
+    if (cached != null && cached.date().equals(date)) {
+      urlCacheHits.incrementAndGet();
+      return new HashSet<>(cached.urls());
+    }
+
+    urlCacheMisses.incrementAndGet();
+    Set<String> urls = ConcurrentHashMap.newKeySet();
+    urls.addAll(itemPriceRepository.findUrlsByItemAndDate(item, date));
+    urlCache.put(item.getId(), new DayUrls(date, urls));
+    return new HashSet<>(urls);
+  }
+
+  public long getUrlCacheHits() {
+    return urlCacheHits.get();
+  }
+
+  public long getUrlCacheMisses() {
+    return urlCacheMisses.get();
+  }
+
+  /**
+   * 가격 데이터를 커밋 단위로 나누어 저장합니다.
+   * 각 단위는 별도 트랜잭션으로 커밋되며, 내부에서는 배치 크기마다 flush/clear하여 영속성 컨텍스트가 커지지 않습니다.
+   *
+   * @param inTransaction 각 단위의 INSERT 직후 같은 트랜잭션에서 실행할 작업 (예: 일별 통계 병합)
+   */
+  public void insertAll(List<ItemPrice> itemPrices, Consumer<List<ItemPrice>> inTransaction) {
+    for (int from = 0; from < itemPrices.size(); from += commitChunkSize) {
+      List<ItemPrice> chunk = itemPrices.subList(from, Math.min(from + commitChunkSize, itemPrices.size()));
+
+      transactionTemplate.executeWithoutResult(status -> {
+        for (int i = 0; i < chunk.size(); i++) {
+          entityManager.persist(chunk.get(i));
+          if ((i + 1) % batchSize == 0) {
+            entityManager.flush();
+            entityManager.clear();
+          }
+        }
+        inTransaction.accept(chunk);
+      });
+      rememberUrls(chunk);
+    }
+  }
+
+  /**
+   * 커밋된 가격의 URL을 메모리의 URL 집합에 추가합니다. (커밋 전에 추가하면 실패한 행이 중복으로 판별됨)
+   */
+  private void rememberUrls(List<ItemPrice> committed) {
+    for (ItemPrice itemPrice : committed) {
+      DayUrls cached = urlCache.get(itemPrice.getItem().getId());
+      if (cached != null && cached.date().equals(itemPrice.getDate()) && itemPrice.getUrl() != null) {
+        cached.urls().add(itemPrice.getUrl());
+      }
+    }
+  }
+
+  private record DayUrls(LocalDate date, Set<String> urls) {
+  }
+}
@@ -0,0 +1,312 @@
+package com.nangoso.pricetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nangoso.pricetracker.dto.ItemDetailDto;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 아이템 시세 실시간 전송 (Server-Sent Events)
+ * 아이템마다 연결 목록 하나를 공유하고, 가격 변경 이벤트가 오면 오늘 시세를 한 번만 조회/직렬화해 모든 연결에 보냅니다.
+ * 연결은 서블릿 비동기 요청으로 유지되어 대기 중인 연결이 요청 스레드를 차지하지 않으며, 연결별 DB 조회는 없습니다.
+ * 연결마다 크기가 제한된 전송 대기열을 두고 작은 전송 스레드 풀이 연결별로 순서대로 보내므로,
+ * 수집 스레드나 다른 연결이 느린 클라이언트를 기다리지 않습니다.
+ * 대기열이 가득 찼거나 한 번의 전송이 제한 시간을 넘긴 연결은 끊고, 브라우저가 다시 연결하면 최신 시세부터 받습니다.
+ * heartbeat는 수집/정리 작업이 함께 쓰는 스프링 스케줄러가 아닌 전용 스레드에서 실행하므로, 수집 중에도 멈추지 않습니다.
+ */
+@Service
+@Slf4j
+public class ItemPriceStreamService {
+
+  private final ItemReadCache itemReadCache;
+  private final ObjectMapper objectMapper;
+  private final long timeoutMs;
+  private final int maxConnections;
+  private final int queueCapacity;
+  private final long sendTimeoutNanos;
+  private final long heartbeatMs;
+
+  // 아이템 코드별 연결 목록 (연결이 없으면 항목 제거)
+  private final Map<String, List<Subscriber>> broadcasters = new ConcurrentHashMap<>();
+  private final AtomicInteger connections = new AtomicInteger();
+  private final ExecutorService sendExecutor;
+  private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "price-stream-heartbeat");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public ItemPriceStreamService(ItemReadCache itemReadCache, ObjectMapper objectMapper,
+      @Value("${stream.timeout-ms:1800000}") long timeoutMs,
+      @Value("${stream.max-connections:5000}") int maxConnections,
+      @Value("${stream.send-threads:4}") int sendThreads,
+      @Value("${stream.queue-capacity:16}") int queueCapacity,
+      @Value("${stream.send-timeout-ms:10000}") long sendTimeoutMs,
+      @Value("${stream.heartbeat-ms:25000}") long heartbeatMs) {
+    this.itemReadCache = itemReadCache;
+    this.objectMapper = objectMapper;
+    this.timeoutMs = timeoutMs;
+    this.maxConnections = maxConnections;
+    this.queueCapacity = queueCapacity;
+    this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    this.heartbeatMs = heartbeatMs;
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+      Thread thread = new Thread(runnable, "price-stream-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * 아이템 시세 구독 (연결 수가 최대치면 null)
+   * 연결이 끊기거나 시간이 지나면 목록에서 제거되며, 브라우저(EventSource)가 다시 연결합니다.
+   */
+  public SseEmitter subscribe(String itemCode) {
+    if (connections.incrementAndGet() > maxConnections) {
+      connections.decrementAndGet();
+      return null;
+    }
+
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Subscriber subscriber = new Subscriber(itemCode, emitter, queueCapacity);
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(() -> remove(subscriber));
+    emitter.onError(error -> remove(subscriber));
+    broadcasters.compute(itemCode, (code, subscribers) -> {
+      List<Subscriber> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+      list.add(subscriber);
+      return list;
+    });
+    return emitter;
+  }
+
+  /**
+   * 가격이 바뀐 아이템의 구독자에게 오늘 시세를 보냅니다. (커밋 후, 조회 캐시 버전이 오른 뒤 실행)
+   * 구독자가 없으면 아무 것도 조회하지 않습니다.
+   */
+  @Order(10)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemPricesChanged(ItemPricesChangedEvent event) {
+    String itemCode = event.itemCode();
+    if (!broadcasters.containsKey(itemCode)) {
+      return;
+    }
+
+    execute(() -> {
+      List<Subscriber> subscribers = broadcasters.get(itemCode);
+      if (subscribers == null) {
+        return;
+      }
+      ItemDetailDto detail = itemReadCache.getItemDetail(itemCode);
+      if (detail == null) {
+        return;
+      }
+
+      broadcast(itemCode, subscribers, "price", Long.toString(itemReadCache.getVersion(itemCode)), detail.getTodayPrice());
+    });
+  }
+
+  /**
+   * 아이템 구독자에게 이벤트를 보냅니다. (가격 알림 등, 구독자가 없으면 무시)
+   */
+  public void publish(String itemCode, String eventName, Object payload) {
+    if (!broadcasters.containsKey(itemCode)) {
+      return;
+    }
+    execute(() -> {
+      List<Subscriber> subscribers = broadcasters.get(itemCode);
+      if (subscribers != null) {
+        broadcast(itemCode, subscribers, eventName, null, payload);
+      }
+    });
+  }
+
+  @PostConstruct
+  public void startHeartbeat() {
+    heartbeatExecutor.scheduleWithFixedDelay(() -> {
+      try {
+        heartbeat();
+      } catch (RuntimeException e) {
+        log.error("Price stream heartbeat failed", e);
+      }
+    }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 중간 프록시가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트를 보내고,
+   * 한 번의 전송이 제한 시간을 넘도록 막혀 있는 연결을 끊습니다.
+   * 대기열에 넣고 표시만 하며 전송/완료 처리는 전송 스레드가 하므로, heartbeat 스레드는 소켓 쓰기를 기다리지 않습니다.
+   */
+  void heartbeat() {
+    if (broadcasters.isEmpty()) {
+      return;
+    }
+
+    Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event().comment("heartbeat").build();
+    long now = System.nanoTime();
+    broadcasters.values().forEach(subscribers -> {
+      for (Subscriber subscriber : subscribers) {
+        long sendStartedAt = subscriber.sendStartedAt;
+        if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutNanos) {
+          log.debug("Dropping stalled price stream for itemCode: {}", subscriber.itemCode);
+          drop(subscriber);
+        }
+      }
+      enqueueAll(subscribers, message);
+    });
+  }
+
+  public int getConnectionCount() {
+    return connections.get();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    heartbeatExecutor.shutdownNow();
+    sendExecutor.shutdownNow();
+    broadcasters.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+  }
+
+  private void broadcast(String itemCode, List<Subscriber> subscribers, String eventName, String id, Object payload) {
+    // 직렬화는 연결 수와 관계없이 한 번만
+    SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName);
+    if (id != null) {
+      event.id(id);
+    }
+    try {
+      event.data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON);
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize {} event for itemCode: {}", eventName, itemCode, e);
+      return;
+    }
+    enqueueAll(subscribers, event.build());
+  }
+
+  /**
+   * 연결별 대기열에 메시지를 넣고, 보내는 중이 아닌 연결은 전송 작업을 예약합니다.
+   */
+  private void enqueueAll(List<Subscriber> subscribers, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.closed) {
+        continue;
+      }
+      if (!subscriber.queue.offer(message)) {
+        // 보내지 못한 메시지가 쌓인 느린 연결
+        log.debug("Dropping lagging price stream for itemCode: {}", subscriber.itemCode);
+        drop(subscriber);
+        continue;
+      }
+      if (subscriber.draining.compareAndSet(false, true)) {
+        execute(() -> drain(subscriber));
+      }
+    }
+  }
+
+  /**
+   * 연결의 대기열이 빌 때까지 순서대로 보냅니다. (연결마다 한 번에 하나의 전송 작업만 실행)
+   * 끊기로 표시된 연결은 이 스레드에서 완료 처리하므로, 같은 연결의 전송과 완료가 다른 스레드에서 겹치지 않습니다.
+   */
+  private void drain(Subscriber subscriber) {
+    do {
+      Set<ResponseBodyEmitter.DataWithMediaType> message;
+      while (!subscriber.closed && (message = subscriber.queue.poll()) != null) {
+        subscriber.sendStartedAt = System.nanoTime();
+        try {
+          subscriber.emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+          // 끊긴 연결 (컨테이너가 완료 처리)
+          remove(subscriber);
+        } finally {
+          subscriber.sendStartedAt = 0;
+        }
+      }
+      if (subscriber.closed) {
+        // 닫힌 연결은 전송 작업을 더 예약하지 않도록 draining을 유지
+        subscriber.queue.clear();
+        if (subscriber.dropped) {
+          subscriber.emitter.complete();
+        }
+        return;
+      }
+      subscriber.draining.set(false);
+    } while ((subscriber.closed || !subscriber.queue.isEmpty()) && subscriber.draining.compareAndSet(false, true));
+  }
+
+  /**
+   * 느린 연결을 목록에서 빼고 끊기로 표시합니다. (완료 처리는 전송 스레드에서, 브라우저가 다시 연결)
+   */
+  private void drop(Subscriber subscriber) {
+    subscriber.dropped = true;
+    remove(subscriber);
+    if (subscriber.draining.compareAndSet(false, true)) {
+      execute(() -> drain(subscriber));
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscriber.closed = true;
+    broadcasters.computeIfPresent(subscriber.itemCode, (code, subscribers) -> {
+      if (subscribers.remove(subscriber)) {
+        connections.decrementAndGet();
+      }
+      return subscribers.isEmpty() ? null : subscribers;
+    });
+  }
+
+  private void execute(Runnable task) {
+    try {
+      sendExecutor.execute(task);
+    } catch (RejectedExecutionException e) {
+      log.debug("Price stream executor is shut down");
+    }
+  }
+
+  /**
+   * 구독 연결과 전송 대기열
+   */
+  private static final class Subscriber {
+
+    private final String itemCode;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // 진행 중인 전송의 시작 시각 (System.nanoTime, 보내는 중이 아니면 0)
+    private volatile long sendStartedAt;
+    private volatile boolean closed;
+    // 서버가 끊기로 한 연결 (전송 스레드가 완료 처리)
+    private volatile boolean dropped;
+
+    private Subscriber(String itemCode, SseEmitter emitter, int queueCapacity) {
+      this.itemCode = itemCode;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.nangoso.pricetracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nangoso.pricetracker.dto.CacheStatsDto;
+import com.nangoso.pricetracker.dto.ItemDetailDto;
+import com.nangoso.pricetracker.dto.PriceHistoryDto;
+import com.nangoso.pricetracker.dto.PriceSeriesDto;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 아이템 상세/가격 히스토리 조회 캐시
+ * 크기 제한 로컬 캐시(Caffeine, W-TinyLFU)에 아이템 코드, 조회 기간, 날짜, 아이템 버전을 키로 저장합니다.
+ * 가격이 바뀌면 해당 아이템의 버전만 올려 이전 키를 더 이상 읽지 않으며, 남은 항목은 크기 제한과 만료 시간으로 정리됩니다.
+ * 커밋 전에 시작된 조회가 이전 데이터를 이전 버전 키로 저장하더라도 다음 조회에 쓰이지 않습니다.
+ */
+@Service
+@Slf4j
+public class ItemReadCache {
+
+  private final ItemService itemService;
+  private final Cache<DetailKey, ItemDetailDto> detailCache;
+  private final Cache<HistoryKey, List<PriceHistoryDto>> historyCache;
+  private final Cache<SeriesKey, PriceSeriesDto> seriesCache;
+
+  // 아이템 코드별 데이터 버전 (가격 변경 이벤트마다 증가)
+  private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+  // 아이템 코드별 마지막 가격 변경 시각 (epoch millis)
+  private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+  private final LongAdder invalidations = new LongAdder();
+
+  public ItemReadCache(ItemService itemService,
+      @Value("${cache.items.maximum-size:10000}") long maximumSize,
+      @Value("${cache.items.expire-minutes:60}") long expireMinutes) {
+    this.itemService = itemService;
+    this.detailCache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+        .recordStats()
+        .build();
+    this.historyCache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+        .recordStats()
+        .build();
+    this.seriesCache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * 아이템 상세 정보 조회 (없는 아이템은 캐시하지 않음)
+   */
+  public ItemDetailDto getItemDetail(String itemCode) {
+    DetailKey key = new DetailKey(itemCode, LocalDate.now(), version(itemCode).get());
+    return detailCache.get(key, k -> itemService.getItemDetail(itemCode));
+  }
+
+  /**
+   * 아이템의 가격 히스토리 조회
+   */
+  public List<PriceHistoryDto> getPriceHistory(String itemCode, int days) {
+    HistoryKey key = new HistoryKey(itemCode, days, LocalDate.now(), version(itemCode).get());
+    return historyCache.get(key, k -> List.copyOf(itemService.getPriceHistory(itemCode, days)));
+  }
+
+  /**
+   * 차트용 가격 추이 조회 (없는 아이템은 캐시하지 않음)
+   */
+  public PriceSeriesDto getPriceSeries(String itemCode, int days, int maxPoints) {
+    SeriesKey key = new SeriesKey(itemCode, days, maxPoints, LocalDate.now(), version(itemCode).get());
+    return seriesCache.get(key, k -> itemService.getPriceSeries(itemCode, days, maxPoints));
+  }
+
+  /**
+   * 가격 데이터가 바뀐 아이템의 캐시를 무효화합니다. (트랜잭션에서 발행되면 커밋 후 실행)
+   * 같은 이벤트를 받는 다른 리스너가 새 버전으로 조회하도록 가장 먼저 실행합니다.
+   */
+  @Order(0)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemPricesChanged(ItemPricesChangedEvent event) {
+    changedAt.put(event.itemCode(), System.currentTimeMillis());
+    version(event.itemCode()).incrementAndGet();
+    invalidations.increment();
+  }
+
+  /**
+   * 아이템의 현재 데이터 버전 (HTTP 응답 검증자로 사용)
+   */
+  public long getVersion(String itemCode) {
+    return version(itemCode).get();
+  }
+
+  /**
+   * 아이템의 마지막 가격 변경 시각 (epoch millis, 시작 후 변경이 없으면 0)
+   */
+  public long getChangedAt(String itemCode) {
+    return changedAt.getOrDefault(itemCode, 0L);
+  }
+
+  /**
+   * 캐시 지표 조회
+   */
+  public List<CacheStatsDto> getStats() {
+    return List.of(
+        toStatsDto("item-detail", detailCache),
+        toStatsDto("price-history", historyCache),
+        toStatsDto("price-series", seriesCache));
+  }
+
+  private AtomicLong version(String itemCode) {
+    return versions.computeIfAbsent(itemCode, code -> new AtomicLong());
+  }
+
+  private CacheStatsDto toStatsDto(String name, Cache<?, ?> cache) {
+    CacheStats stats = cache.stats();
+    return new CacheStatsDto(
+        name,
+        cache.estimatedSize(),
+        stats.hitCount(),
+        stats.missCount(),
+        stats.hitRate(),
+        stats.evictionCount(),
+        invalidations.sum()
+    );
+  }
+
+  private record DetailKey(String itemCode, LocalDate date, long version) {
+  }
+
+  private record HistoryKey(String itemCode, int days, LocalDate date, long version) {
+  }
+
+  private record SeriesKey(String itemCode, int days, int maxPoints, LocalDate date, long version) {
+  }
+}
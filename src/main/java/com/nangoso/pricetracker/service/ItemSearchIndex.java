@@ -0,0 +1,313 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.ItemResponseDto;
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * 아이템 이름/코드 검색 인덱스
+ * 이름의 초성 문자열에 대한 1-gram/2-gram 역색인으로 후보를 좁히고, 글자 단위로 검증합니다.
+ * 검색어의 완성형 글자는 같은 글자와, 자음(ㄱ~ㅎ)은 같은 초성의 글자와 일치합니다. (예: "ㅁㅅㅌ", "몬ㅅ터")
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+  private static final char HANGUL_BASE = 0xAC00;
+  private static final char HANGUL_LAST = 0xD7A3;
+  private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+  private static final char[] CHOSEONG = {
+      'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+      'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+  };
+
+  private final ItemRepository itemRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<Entry> entries = new ArrayList<>();
+  private final Map<String, Integer> idByCode = new HashMap<>();
+  private final NavigableMap<String, Integer> codeIndex = new TreeMap<>();
+  private final Map<String, List<Integer>> gramIndex = new HashMap<>();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    List<Item> items = itemRepository.findAll();
+    for (Item item : items) {
+      add(item);
+    }
+    log.info("Search index built - {} items, {} grams", items.size(), gramIndex.size());
+  }
+
+  /**
+   * 아이템을 인덱스에 추가합니다. 이미 있는 아이템 코드는 무시합니다.
+   */
+  public void add(Item item) {
+    lock.writeLock().lock();
+    try {
+      if (idByCode.containsKey(item.getItemCode())) {
+        return;
+      }
+
+      String normalized = normalize(item.getName());
+      String choseong = toChoseong(normalized);
+      int id = entries.size();
+
+      entries.add(new Entry(item.getItemCode(), item.getName(), item.getImageUrl(), normalized));
+      idByCode.put(item.getItemCode(), id);
+      codeIndex.put(item.getItemCode(), id);
+
+      for (String gram : indexGrams(choseong)) {
+        List<Integer> postings = gramIndex.computeIfAbsent(gram, key -> new ArrayList<>());
+        // 같은 이름 안에서 반복되는 gram은 한 번만 기록 (ID는 증가 순으로 추가됨)
+        if (postings.isEmpty() || postings.get(postings.size() - 1) != id) {
+          postings.add(id);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 이름 또는 아이템 코드로 검색하여 상위 K개를 반환합니다.
+   * 이름 앞부분 일치 > 중간 일치, 같은 조건이면 짧은 이름 순으로 정렬합니다.
+   */
+  public List<ItemResponseDto> search(String query, int limit) {
+    String normalizedQuery = normalize(query);
+    if (normalizedQuery.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    lock.readLock().lock();
+    try {
+      // 가장 낮은 순위가 먼저 꺼내지도록 역순 정렬 (상위 K개 유지)
+      PriorityQueue<Match> topMatches = new PriorityQueue<>(Comparator.reverseOrder());
+      Set<Integer> codeMatches = new HashSet<>();
+
+      if (normalizedQuery.chars().allMatch(Character::isDigit)) {
+        for (int id : codeIndex.subMap(normalizedQuery, true, normalizedQuery + Character.MAX_VALUE, false).values()) {
+          codeMatches.add(id);
+          offer(topMatches, new Match(id, -1, entries.get(id).normalizedName().length()), limit);
+        }
+      }
+
+      for (int id : findCandidates(toChoseong(normalizedQuery))) {
+        if (codeMatches.contains(id)) {
+          continue;
+        }
+        Entry entry = entries.get(id);
+        int position = indexOf(entry.normalizedName(), normalizedQuery);
+        if (position >= 0) {
+          offer(topMatches, new Match(id, position == 0 ? 0 : 1, entry.normalizedName().length()), limit);
+        }
+      }
+
+      List<Match> matches = new ArrayList<>(topMatches);
+      matches.sort(Comparator.naturalOrder());
+
+      List<ItemResponseDto> results = new ArrayList<>(matches.size());
+      for (Match match : matches) {
+        Entry entry = entries.get(match.id());
+        results.add(new ItemResponseDto(entry.itemCode(), entry.name(), entry.imageUrl(), null));
+      }
+      return results;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 인덱스에 등록된 아이템 코드인지 확인합니다. (DB 조회 없이 아이템 존재 여부 판단)
+   */
+  public boolean contains(String itemCode) {
+    lock.readLock().lock();
+    try {
+      return idByCode.containsKey(itemCode);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void offer(PriorityQueue<Match> topMatches, Match match, int limit) {
+    topMatches.offer(match);
+    if (topMatches.size() > limit) {
+      topMatches.poll();
+    }
+  }
+
+  /**
+   * 검색어 초성 문자열의 모든 gram을 포함하는 아이템 ID (정렬된 목록의 교집합)
+   */
+  private List<Integer> findCandidates(String choseongQuery) {
+    List<List<Integer>> postingLists = new ArrayList<>();
+    for (String gram : queryGrams(choseongQuery)) {
+      List<Integer> postings = gramIndex.get(gram);
+      if (postings == null) {
+        return List.of();
+      }
+      postingLists.add(postings);
+    }
+    postingLists.sort(Comparator.comparingInt(List::size));
+
+    List<Integer> candidates = postingLists.get(0);
+    for (int i = 1; i < postingLists.size() && !candidates.isEmpty(); i++) {
+      candidates = intersect(candidates, postingLists.get(i));
+    }
+    return candidates;
+  }
+
+  private static List<Integer> intersect(List<Integer> left, List<Integer> right) {
+    List<Integer> result = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while (i < left.size() && j < right.size()) {
+      int compare = Integer.compare(left.get(i), right.get(j));
+      if (compare == 0) {
+        result.add(left.get(i));
+        i++;
+        j++;
+      } else if (compare < 0) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 색인용 gram 목록 (모든 1-gram과 2-gram)
+   */
+  private static List<String> indexGrams(String text) {
+    List<String> grams = new ArrayList<>();
+    for (int i = 0; i < text.length(); i++) {
+      grams.add(text.substring(i, i + 1));
+      if (i + 1 < text.length()) {
+        grams.add(text.substring(i, i + 2));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * 검색용 gram 목록 (검색어가 한 글자면 1-gram, 그 외에는 2-gram)
+   */
+  private static List<String> queryGrams(String text) {
+    if (text.length() == 1) {
+      return List.of(text);
+    }
+    List<String> grams = new ArrayList<>();
+    for (int i = 0; i + 1 < text.length(); i++) {
+      grams.add(text.substring(i, i + 2));
+    }
+    return grams;
+  }
+
+  /**
+   * 이름에서 검색어가 일치하는 첫 위치 (초성 일치 포함)
+   */
+  static int indexOf(String name, String query) {
+    for (int start = 0; start + query.length() <= name.length(); start++) {
+      boolean matched = true;
+      for (int k = 0; k < query.length() && matched; k++) {
+        matched = charMatches(name.charAt(start + k), query.charAt(k));
+      }
+      if (matched) {
+        return start;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean charMatches(char nameChar, char queryChar) {
+    if (nameChar == queryChar) {
+      return true;
+    }
+    return isChoseong(queryChar) && toChoseong(nameChar) == queryChar;
+  }
+
+  static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder builder = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        builder.append(Character.toLowerCase(c));
+      }
+    }
+    return builder.toString();
+  }
+
+  static String toChoseong(String text) {
+    StringBuilder builder = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      builder.append(toChoseong(text.charAt(i)));
+    }
+    return builder.toString();
+  }
+
+  private static char toChoseong(char c) {
+    if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+      return CHOSEONG[(c - HANGUL_BASE) / SYLLABLES_PER_CHOSEONG];
+    }
+    return c;
+  }
+
+  private static boolean isChoseong(char c) {
+    for (char choseong : CHOSEONG) {
+      if (choseong == c) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private record Entry(String itemCode, String name, String imageUrl, String normalizedName) {
+  }
+
+  /**
+   * 검색 결과 순위 (rank: -1 코드 일치, 0 이름 앞부분 일치, 1 중간 일치)
+   */
+  private record Match(int id, int rank, int nameLength) implements Comparable<Match> {
+
+    @Override
+    public int compareTo(Match other) {
+      if (rank != other.rank) {
+        return Integer.compare(rank, other.rank);
+      }
+      if (nameLength != other.nameLength) {
+        return Integer.compare(nameLength, other.nameLength);
+      }
+      return Integer.compare(id, other.id);
+    }
+  }
+}
@@ -1,27 +1,39 @@
 package com.nangoso.pricetracker.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nangoso.pricetracker.config.HttpPoolMetrics;
 import com.nangoso.pricetracker.dto.ItemDetailDto;
-import com.nangoso.pricetracker.dto.ItemExportDto;
 import com.nangoso.pricetracker.dto.ItemInfo;
-import com.nangoso.pricetracker.dto.PopularItemDto;
 import com.nangoso.pricetracker.dto.PriceData;
 import com.nangoso.pricetracker.dto.PriceHistoryDto;
+import com.nangoso.pricetracker.dto.PriceSeriesDto;
 import com.nangoso.pricetracker.dto.TodayPriceDto;
+import com.nangoso.pricetracker.dto.TradeFetchResult;
+import com.nangoso.pricetracker.entity.CollectionRun;
 import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemCollectionState;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
 import com.nangoso.pricetracker.entity.ItemPrice;
-import com.nangoso.pricetracker.repository.ItemPriceRepository;
+import com.nangoso.pricetracker.entity.PriceRollup;
+import com.nangoso.pricetracker.event.CollectionRunCompletedEvent;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
+import com.nangoso.pricetracker.event.PriceCollectionTickEvent;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
 import com.nangoso.pricetracker.repository.ItemRepository;
-import java.io.File;
-import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,368 +42,364 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ItemService {
 
+  // 가격 히스토리/오늘 통계에 제공하는 분위 (p25, p50, p75)
+  private static final double[] QUARTILES = {0.25, 0.5, 0.75};
+
+  // 가격 히스토리 집계 단위 선택 기준 (조회 일수)
+  private static final int HOURLY_HISTORY_MAX_DAYS = 7;
+  private static final int DAILY_HISTORY_MAX_DAYS = 90;
+  private static final int WEEKLY_HISTORY_MAX_DAYS = 365;
+  private static final String DAILY_RESOLUTION = "DAY";
+
   private final ItemRepository itemRepository;
-  private final ItemPriceRepository itemPriceRepository;
   private final ItemCodeParserService itemCodeParserService;
   private final WebScrapingService webScrapingService;
-
-  private final Random random = new Random();
+  private final CollectionEngine collectionEngine;
+  private final ItemPriceBatchWriter itemPriceBatchWriter;
+  private final ItemCollectionStateService itemCollectionStateService;
+  private final CollectionRunService collectionRunService;
+  private final ItemDailyStatsService itemDailyStatsService;
+  private final PriceRollupService priceRollupService;
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ItemSearchIndex itemSearchIndex;
+  private final HttpPoolMetrics httpPoolMetrics;
 
   /**
-   * TXT 파일에서 추출한 아이템 코드로 아이템 정보를 수집하고 저장합니다. DB에 이미 존재하는 아이템은 스킵하고, 없는 경우에만 웹에서 정보를 가져와 저장합니다.
+   * TXT 파일에서 추출한 아이템 코드로 아이템 정보를 수집하고 저장합니다.
+   * DB에 있는 아이템 코드를 한 번의 쿼리로 조회하여 없는 코드만 수집하며, API 요청은 {@link CollectionEngine}에서 속도 제한을 지키며 동시에 실행됩니다.
+   * 아이템마다 개별 트랜잭션으로 저장하고 체크포인트를 남기므로, 중단 후 재시작하면 처리하지 않은 코드부터 이어서 진행합니다.
    */
-  @Transactional
   public void collectAndSaveItemInfo() {
     log.info("Starting item info collection...");
 
     List<String> itemCodes = itemCodeParserService.extractItemCodes();
-    log.info("Found {} item codes from TXT file", itemCodes.size());
-
-    int successCount = 0;
-    int skipCount = 0;
-
-    for (String itemCode : itemCodes) {
-      try {
-        // 이미 DB에 존재하는 아이템인지 확인
-        if (itemRepository.existsByItemCode(itemCode)) {
-          log.debug("Item already exists in DB: {}", itemCode);
-          skipCount++;
-          continue;
-        }
-
-        // 웹에서 아이템 정보 가져오기
-        ItemInfo itemInfo = webScrapingService.fetchItemInfo(itemCode);
+    Set<String> knownCodes = new HashSet<>(itemRepository.findAllItemCodes());
+    List<String> missingCodes = itemCodes.stream()
+        .distinct()
+        .filter(itemCode -> !knownCodes.contains(itemCode))
+        .collect(Collectors.toList());
+    log.info("Found {} item codes from TXT file - {} not in DB", itemCodes.size(), missingCodes.size());
 
-        if (itemInfo == null || itemInfo.getName() == null || itemInfo.getName().isEmpty()) {
-          log.warn("Skipping item code {} - No valid item info found", itemCode);
-          skipCount++;
-          continue;
-        }
+    if (missingCodes.isEmpty()) {
+      return;
+    }
 
-        // 아이템 정보 저장
-        Item item = Item.builder()
-            .itemCode(itemCode)
-            .name(itemInfo.getName())
-            .imageUrl(itemInfo.getImageUrl())
-            .viewCount(0L)
-            .build();
-
-        itemRepository.save(item);
-        log.info("Saved item: {} ({})", item.getName(), itemCode);
-        successCount++;
-
-        // 크롤링 부하 방지 및 봇 탐지 우회를 위한 랜덤 딜레이 (1~5초)
-        int delay;
-        if (random.nextInt(10) == 0) { // 10% 확률
-          delay = 5000 + random.nextInt(5000); // 5~10초
-        } else {
-          delay = 1000 + random.nextInt(4000); // 1~5초
-        }
-        log.debug("Waiting for {} ms before next request", delay);
-        Thread.sleep(delay);
+    CollectionRun run = collectionRunService.startOrResume(CollectionRun.RunType.ITEM_INFO, missingCodes.size());
+    Set<String> completedCodes = collectionRunService.findCompletedItemCodes(run.getId());
+    List<String> pendingCodes = missingCodes.stream()
+        .filter(itemCode -> !completedCodes.contains(itemCode))
+        .collect(Collectors.toList());
+    ItemInfoCollectionSummary summary = new ItemInfoCollectionSummary();
 
-      } catch (Exception e) {
-        log.error("Failed to process item code: {}", itemCode, e);
-        skipCount++;
-      }
+    try {
+      collectionEngine.run(pendingCodes,
+          webScrapingService::fetchItemInfo,
+          (itemCode, itemInfo) -> saveItemInfo(run.getId(), itemCode, itemInfo, summary),
+          (itemCode, e) -> {
+            log.error("Failed to process item code: {}", itemCode, e);
+            summary.skipCount++;
+          });
+      collectionRunService.complete(run.getId());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Item info collection interrupted - run {} will resume on next start", run.getId());
+      return;
     }
 
     log.info("Item info collection completed - Success: {}, Skipped: {}, Total: {}",
-        successCount, skipCount, itemCodes.size());
+        summary.successCount, summary.skipCount + completedCodes.size(), missingCodes.size());
   }
 
   /**
-   * 모든 아이템의 가격 정보를 수집하고 저장합니다. 같은 날짜, 같은 URL의 데이터는 중복으로 간주하여 스킵합니다.
+   * 조회한 아이템 정보를 저장하고 체크포인트를 남깁니다. (정보가 없는 코드도 체크포인트를 남겨 이번 실행에서 다시 요청하지 않음)
    */
-  @Transactional
-  public void collectAndSavePrices() {
-    log.info("Starting price collection...");
-
-    List<Item> items = itemRepository.findAll();
-    LocalDate today = LocalDate.now();
-
-    int successCount = 0;
-    int skipCount = 0;
-    int newDataCount = 0;
-    int duplicateCount = 0;
-
-    for (Item item : items) {
-      try {
-        // 웹에서 판매 가격과 URL 목록 가져오기
-        List<PriceData> priceDataList = webScrapingService.fetchSellingPricesWithUrl(item.getItemCode());
-
-        if (priceDataList.isEmpty()) {
-          log.warn("No prices found for item: {} ({})", item.getName(), item.getItemCode());
-          skipCount++;
-          continue;
-        }
+  private void saveItemInfo(Long runId, String itemCode, ItemInfo itemInfo, ItemInfoCollectionSummary summary) {
+    try {
+      if (itemInfo == null || itemInfo.getName() == null || itemInfo.getName().isEmpty()) {
+        log.warn("Skipping item code {} - No valid item info found", itemCode);
+        collectionRunService.checkpoint(runId, itemCode);
+        summary.skipCount++;
+        return;
+      }
 
-        // 확붙, 붙펑 인 경우 코멘트 필터로 상태 결정
-        setStatusByItemFilter(priceDataList);
+      // 아이템 정보 저장
+      Item item = Item.builder()
+          .itemCode(itemCode)
+          .name(itemInfo.getName())
+          .imageUrl(itemInfo.getImageUrl())
+          .viewCount(0L)
+          .build();
+
+      itemRepository.save(item);
+      itemSearchIndex.add(item);
+      collectionRunService.checkpoint(runId, itemCode);
+      log.info("Saved item: {} ({})", item.getName(), itemCode);
+      summary.successCount++;
+
+    } catch (Exception e) {
+      log.error("Failed to process item code: {}", itemCode, e);
+      summary.skipCount++;
+    }
+  }
 
-        // 가격만 추출하여 IQR 방식으로 이상치 판별
-        List<Long> prices = priceDataList.stream()
-            .filter(priceData -> priceData.getStatus().equals("ACTIVE"))
-            .map(PriceData::getPrice)
-            .collect(Collectors.toList());
+  /**
+   * 수집 시각이 된 아이템의 가격 정보를 수집하고 저장합니다. (스케줄러 주기마다, 수집 대기열에서 꺼낸 아이템)
+   * 주기마다 실행을 새로 만들지 않고 오늘의 가격 수집 실행에 진행률만 누적하며, 실행 완료 이벤트는
+   * 날짜가 바뀌어 그 실행을 끝낼 때({@link #completeFinishedPriceCycles()}) 한 번 발행합니다.
+   * 주기 결과는 가벼운 {@link PriceCollectionTickEvent}로 알리고, 받는 쪽에서 필요한 경우에만 다시 계산합니다.
+   * 아이템마다 처리 결과에 따라 다음 수집 시각이 정해지며, 중단된 주기의 남은 아이템은 수집 시각이 지난 채로 남아 다음 주기에 수집됩니다.
+   */
+  public void collectDuePrices(List<Item> items) {
+    log.info("Starting price collection for {} items...", items.size());
 
-        List<Long> validPrices = removeOutliersUsingIQR(prices);
+    CollectionRun run = collectionRunService.currentCycle(CollectionRun.RunType.PRICE);
+    PriceCollectionSummary summary = new PriceCollectionSummary();
+    Set<String> collectedCodes = new HashSet<>();
+    try {
+      collect(run, items, summary, collectedCodes);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Price collection interrupted - remaining items stay due for the next tick");
+    }
 
-        // 각 가격 데이터를 확인하여 중복이 아닌 경우에만 저장
-        int itemNewCount = 0;
-        int itemDuplicateCount = 0;
-        int itemInactiveCount = 0;
+    collectionRunService.addCycleProgress(run.getId(), items.size(), collectedCodes.size(),
+        summary.notModifiedCount + summary.unchangedCount);
+    if (!collectedCodes.isEmpty()) {
+      eventPublisher.publishEvent(new PriceCollectionTickEvent(run.getId(), Set.copyOf(collectedCodes)));
+    }
+    logCollectionSummary(summary, items.size());
+  }
 
-        for (PriceData priceData : priceDataList) {
-          // 같은 날짜, 같은 URL이 이미 존재하는지 확인
-          boolean exists = itemPriceRepository.existsByItemAndDateAndUrl(item, today, priceData.getUrl());
+  /**
+   * 이전 날짜의 가격 수집 실행을 완료하고 실행 완료 이벤트를 발행합니다. (하루 단위 집계/스냅샷 갱신 기준)
+   */
+  public void completeFinishedPriceCycles() {
+    for (Long runId : collectionRunService.completeStaleCycles(CollectionRun.RunType.PRICE)) {
+      eventPublisher.publishEvent(new CollectionRunCompletedEvent(runId, CollectionRun.RunType.PRICE));
+    }
+  }
 
-          if (exists) {
-            itemDuplicateCount++;
-            continue;
+  /**
+   * 아이템 목록의 판매 목록을 조회해 저장하고, 처리 완료된 아이템 코드를 collectedCodes에 모읍니다.
+   * API 요청은 {@link CollectionEngine}에서 동시에 실행되고, 저장은 호출 스레드에서 순서대로 처리됩니다.
+   * 저장은 {@link ItemPriceBatchWriter}가 일정 크기 단위로 커밋하므로 전체 주기를 하나의 트랜잭션으로 묶지 않습니다.
+   * 오늘 이미 수집한 아이템은 조건부 요청(304)이나 판매 목록 해시로 변경 여부를 먼저 확인하여, 바뀌지 않았으면 저장을 건너뜁니다.
+   */
+  private void collect(CollectionRun run, List<Item> items, PriceCollectionSummary summary,
+      Set<String> collectedCodes) throws InterruptedException {
+    LocalDate today = run.getRunDate();
+    Map<Long, ItemCollectionState> states = itemCollectionStateService.loadStates(items);
+
+    collectionEngine.run(items,
+        item -> {
+          ItemCollectionState state = ItemCollectionStateService.sameDayState(states, item, today);
+          return state != null
+              ? webScrapingService.fetchSellListings(item.getItemCode(), state.getEtag(), state.getLastModified())
+              : webScrapingService.fetchSellListings(item.getItemCode(), null, null);
+        },
+        (item, fetched) -> {
+          FetchOutcome outcome = processFetched(run.getId(), item, today, fetched, states, summary);
+          if (outcome == FetchOutcome.FAILED) {
+            itemCollectionStateService.markFailed(item);
+            return;
           }
-
-          // IQR 검증 결과에 따라 상태 결정
-          boolean isValid = validPrices.contains(priceData.getPrice());
-
-          ItemPrice.PriceStatus status = isValid ? ItemPrice.PriceStatus.ACTIVE : ItemPrice.PriceStatus.INACTIVE;
-
-          // 모든 데이터를 저장 (이상치는 INACTIVE 상태로)
-          ItemPrice itemPrice = ItemPrice.builder()
-              .item(item)
-              .date(today)
-              .price(priceData.getPrice())
-              .url(priceData.getUrl())
-              .comment(priceData.getComment())
-              .status(status)
-              .build();
-
-          itemPriceRepository.save(itemPrice);
-
-          if (isValid) {
-            itemNewCount++;
-          } else {
-            itemInactiveCount++;
+          collectedCodes.add(item.getItemCode());
+          // 저장된 행/통계나 8시간 집계가 바뀐 경우에만 조회 캐시 무효화, SSE 전송, 알림 평가
+          if (outcome == FetchOutcome.CHANGED) {
+            eventPublisher.publishEvent(new ItemPricesChangedEvent(item.getItemCode()));
           }
-        }
+        },
+        (item, e) -> {
+          log.error("Failed to collect prices for item: {} ({})", item.getName(), item.getItemCode(), e);
+          itemCollectionStateService.markFailed(item);
+          summary.skipCount++;
+        });
+  }
 
-        newDataCount += itemNewCount;
-        duplicateCount += itemDuplicateCount;
+  private void logCollectionSummary(PriceCollectionSummary summary, int totalItems) {
+    int checkedCount = summary.notModifiedCount + summary.unchangedCount + summary.changedCount;
+    log.info(
+        "Price collection completed - Items processed: {}, ACTIVE records: {}, Duplicates skipped: {}, Items skipped: {}, Total items: {}",
+        summary.successCount, summary.newDataCount, summary.duplicateCount, summary.skipCount, totalItems);
+    log.info("Change detection - Not modified (304): {}, Unchanged listings: {}, Changed: {}, Hit rate: {}",
+        summary.notModifiedCount, summary.unchangedCount, summary.changedCount,
+        String.format("%.1f%%", checkedCount == 0
+            ? 0.0 : (summary.notModifiedCount + summary.unchangedCount) * 100.0 / checkedCount));
+    log.info("Existing URL cache - Hits: {}, Misses: {}",
+        itemPriceBatchWriter.getUrlCacheHits(), itemPriceBatchWriter.getUrlCacheMisses());
+    log.info("HTTP connection pool - Hits: {}, Misses: {}, Hit rate: {}",
+        httpPoolMetrics.getPoolHits(), httpPoolMetrics.getPoolMisses(),
+        String.format("%.1f%%", httpPoolMetrics.getHitRate() * 100));
+  }
 
-        if (itemNewCount > 0 || itemInactiveCount > 0) {
-          log.info("Saved {} ACTIVE and {} INACTIVE prices for item: {} ({}) - {} duplicates skipped",
-              itemNewCount, itemInactiveCount, item.getName(), item.getItemCode(), itemDuplicateCount);
-          successCount++;
-        } else {
-          log.debug("No new prices for item: {} ({}) - {} duplicates",
-              item.getName(), item.getItemCode(), itemDuplicateCount);
-        }
+  /**
+   * 조회한 판매 목록의 변경 여부를 확인하고, 바뀐 경우에만 저장합니다.
+   * 바뀌지 않은 아이템은 파싱 이후의 필터/IQR/DB 작업 없이, 마지막으로 관측한 집계로 수집 시점 스냅샷만 남깁니다.
+   *
+   * @return 처리 결과 (실패하면 다음 주기에 다시 수집)
+   */
+  private FetchOutcome processFetched(Long runId, Item item, LocalDate today, TradeFetchResult fetched,
+      Map<Long, ItemCollectionState> states, PriceCollectionSummary summary) {
+    ItemCollectionState state = ItemCollectionStateService.sameDayState(states, item, today);
+    long contentHash = ListingFingerprint.of(fetched.getListings());
 
-        // 크롤링 부하 방지 및 봇 탐지 우회를 위한 랜덤 딜레이 (1~5초)
-        int delay;
-        if (random.nextInt(10) == 0) { // 10% 확률
-          delay = 5000 + random.nextInt(5000); // 5~10초
+    try {
+      if (fetched.isNotModified() || (state != null && state.getContentHash() == contentHash)) {
+        if (state == null) {
+          // 조건부 요청은 오늘 상태가 있을 때만 보내므로 도달하지 않지만, 상태 없이 304를 받으면 다시 수집
+          log.warn("Unexpected 304 without collection state for item: {} ({})", item.getName(), item.getItemCode());
+          summary.skipCount++;
+          return FetchOutcome.FAILED;
+        }
+        if (fetched.isNotModified()) {
+          summary.notModifiedCount++;
         } else {
-          delay = 1000 + random.nextInt(4000); // 1~5초
+          summary.unchangedCount++;
         }
-        log.debug("Waiting for {} ms before next request", delay);
-        Thread.sleep(delay);
-
-      } catch (Exception e) {
-        log.error("Failed to collect prices for item: {} ({})", item.getName(), item.getItemCode(), e);
-        skipCount++;
+        states.put(item.getId(), itemCollectionStateService.recordUnchanged(state, item, fetched));
+        boolean bucketOpened = recordUnchangedSnapshot(runId, item, state);
+        log.debug("Listings unchanged for item: {} ({})", item.getName(), item.getItemCode());
+        return bucketOpened ? FetchOutcome.CHANGED : FetchOutcome.UNCHANGED;
       }
+    } catch (Exception e) {
+      log.error("Failed to record unchanged prices for item: {} ({})", item.getName(), item.getItemCode(), e);
+      summary.skipCount++;
+      return FetchOutcome.FAILED;
     }
 
-    log.info(
-        "Price collection completed - Items processed: {}, ACTIVE records: {}, Duplicates skipped: {}, Items skipped: {}, Total items: {}",
-        successCount, newDataCount, duplicateCount, skipCount, items.size());
-  }
-
-  public List<Long> removeOutliersUsingIQR(List<Long> values) {
-    if (values == null || values.size() < 4) {
-      return values; // 데이터가 너무 적으면 IQR 사용이 의미 없음
+    summary.changedCount++;
+    SaveResult saved = savePrices(runId, item, today, fetched.getListings(), summary);
+    if (saved == null) {
+      return FetchOutcome.FAILED;
     }
 
-    // 1. Long -> Double 변환 후 정렬
-    List<Double> doubleValues = values.stream()
-        .map(Long::doubleValue)
-        .sorted()
-        .collect(Collectors.toList());
-
-    // 2. Q1, Q3 계산
-    double q1 = getPercentile(doubleValues, 25);
-    double q3 = getPercentile(doubleValues, 75);
-    double iqr = q3 - q1;
-
-    // 3. IQR 기준으로 최소/최대 경계 계산
-    double lowerBound = q1 - 1.5 * iqr;
-    double upperBound = q3 + 1.5 * iqr;
-
-    // 4. 경계 안에 들어오는 값만 필터링 후 Long으로 변환
-    List<Long> filtered = values.stream()
-        .filter(v -> v >= lowerBound && v <= upperBound)
-        .collect(Collectors.toList());
-
-    return filtered;
-  }
-
-  // 퍼센타일 구하기 (선형 보간법 없이 단순 계산)
-  private double getPercentile(List<Double> sorted, double percentile) {
-    if (sorted.isEmpty()) {
-      return 0;
+    try {
+      // 날짜가 바뀌었어도 이전 상태를 넘겨 변동성/교체율 이동 평균을 이어갑니다.
+      states.put(item.getId(), itemCollectionStateService.recordCollected(states.get(item.getId()), item, today,
+          fetched, contentHash, saved.observedPrices(), saved.insertedCount()));
+    } catch (Exception e) {
+      // 상태 기록 실패는 다음 실행에서 변경으로 처리되므로 가격 저장 결과에는 영향 없음
+      log.warn("Failed to record collection state for item: {} ({})", item.getName(), item.getItemCode(), e);
     }
+    return saved.insertedCount() > 0 || saved.rollupChanged() ? FetchOutcome.CHANGED : FetchOutcome.UNCHANGED;
+  }
 
-    double index = percentile / 100.0 * (sorted.size() - 1);
-    int i = (int) index;
-    double fraction = index - i;
-
-    if (i + 1 < sorted.size()) {
-      return sorted.get(i) + (sorted.get(i + 1) - sorted.get(i)) * fraction;
-    } else {
-      return sorted.get(i);
+  /**
+   * 판매 목록이 바뀌지 않은 아이템의 수집 시점 스냅샷을 마지막으로 관측한 집계로 남깁니다.
+   *
+   * @return 새 8시간 구간이 생겼는지 (같은 구간이면 값이 그대로이므로 false)
+   */
+  private boolean recordUnchangedSnapshot(Long runId, Item item, ItemCollectionState state) {
+    if (state.getObservedCount() == 0 || state.getObservedSketch() == null) {
+      return false;
     }
+    return priceRollupService.recordSnapshot(runId, item, LocalDateTime.now(),
+        PriceSketch.fromBytes(state.getObservedSketch()),
+        state.getObservedSum(), state.getObservedMin(), state.getObservedMax());
   }
 
   /**
-   * DB에 저장된 아이템 목록을 JSON 파일로 내보냅니다.
+   * 한 아이템에 대해 수집된 가격 목록을 검증하고 저장합니다.
+   * 이번 수집에서 관측한 정상 가격 전체(이미 저장된 URL 포함)는 수집 시점 스냅샷으로 남깁니다.
+   *
+   * @return 관측한 정상 가격, 새로 저장한 행 수, 8시간 집계 변경 여부 (실패 시 null, 재시작 시 다시 수집)
    */
-  public void exportItemsToJson() {
-    log.info("Starting item export to JSON...");
-
+  private SaveResult savePrices(Long runId, Item item, LocalDate today, List<PriceData> priceDataList,
+      PriceCollectionSummary summary) {
+    LocalDateTime capturedAt = LocalDateTime.now();
     try {
-      List<Item> items = itemRepository.findAll();
-
-      // DTO로 변환
-      List<ItemExportDto> itemDtos = items.stream()
-          .map(item -> new ItemExportDto(
-              item.getItemCode(),
-              item.getName(),
-              item.getImageUrl()
-          ))
-          .collect(Collectors.toList());
-
-      // JSON 파일로 저장
-      ObjectMapper objectMapper = new ObjectMapper();
-      File jsonFile = new File("src/main/resources/static/files/items.json");
-
-      // 디렉토리가 없으면 생성
-      File parentDir = jsonFile.getParentFile();
-      if (!parentDir.exists()) {
-        parentDir.mkdirs();
+      if (priceDataList.isEmpty()) {
+        log.warn("No prices found for item: {} ({})", item.getName(), item.getItemCode());
+        summary.skipCount++;
+        return new SaveResult(new long[0], 0, false);
       }
 
-      objectMapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile, itemDtos);
-
-      log.info("Successfully exported {} items to {}", itemDtos.size(), jsonFile.getPath());
+      // 확붙, 붙펑 인 경우 코멘트 필터로 상태 결정
+      setStatusByItemFilter(priceDataList);
 
-    } catch (IOException e) {
-      log.error("Failed to export items to JSON", e);
-    }
-  }
+      // 코멘트 필터를 통과한 가격만 모아 IQR 방식으로 이상치 경계 계산
+      long[] prices = new long[priceDataList.size()];
+      int priceCount = 0;
+      for (PriceData priceData : priceDataList) {
+        if (priceData.getStatus().equals("ACTIVE")) {
+          prices[priceCount++] = priceData.getPrice();
+        }
+      }
+      OutlierBounds bounds = OutlierBounds.of(prices, priceCount);
 
-  /**
-   * 기존에 저장된 모든 가격 데이터에 대해 IQR 검증을 수행하고 이상치를 INACTIVE 상태로 변경합니다.
-   */
-  @Transactional
-  public void validateAndUpdateExistingPrices() {
-    log.info("Starting validation of existing price data...");
-
-    List<Item> items = itemRepository.findAll();
-    int totalProcessed = 0;
-    int totalInactivated = 0;
-
-    for (Item item : items) {
-      try {
-        // 아이템별로 날짜를 그룹화하여 처리
-        List<ItemPrice> allPrices = itemPriceRepository.findByItemOrderByDateDesc(item);
-
-        // 날짜별로 그룹화
-        var pricesByDate = allPrices.stream()
-            .collect(Collectors.groupingBy(ItemPrice::getDate));
-
-        for (var entry : pricesByDate.entrySet()) {
-          LocalDate date = entry.getKey();
-          List<ItemPrice> dailyPrices = entry.getValue();
-
-          if (dailyPrices.size() < 4) {
-            log.debug("Skipping validation for {} ({}) on {} - insufficient data ({})",
-                item.getName(), item.getItemCode(), date, dailyPrices.size());
-            continue;
-          }
+      long[] observedPrices = new long[priceCount];
+      int observedCount = 0;
+      for (int i = 0; i < priceCount; i++) {
+        if (bounds.contains(prices[i])) {
+          observedPrices[observedCount++] = prices[i];
+        }
+      }
 
-          // 가격 값만 추출
-          List<Long> prices = dailyPrices.stream()
-              .map(ItemPrice::getPrice)
-              .collect(Collectors.toList());
-
-          // IQR로 필터링된 가격 계산
-          List<Long> validPrices = removeOutliersUsingIQR(prices);
-
-          // 이상치 판별 및 상태 업데이트
-          int inactivatedCount = 0;
-          for (ItemPrice itemPrice : dailyPrices) {
-            boolean isValid = validPrices.contains(itemPrice.getPrice());
-
-            if (!isValid && itemPrice.getStatus() == ItemPrice.PriceStatus.ACTIVE) {
-              itemPrice.setStatus(ItemPrice.PriceStatus.INACTIVE);
-              itemPriceRepository.save(itemPrice);
-              inactivatedCount++;
-              totalInactivated++;
-            }
-          }
+      // 오늘 이미 저장된 URL을 한 번에 조회하여 중복 판별
+      Set<String> existingUrls = itemPriceBatchWriter.loadExistingUrls(item, today);
 
-          if (inactivatedCount > 0) {
-            log.info("Updated {} ({}) on {} - {} outliers marked as INACTIVE",
-                item.getName(), item.getItemCode(), date, inactivatedCount);
-          }
+      int itemNewCount = 0;
+      int itemDuplicateCount = 0;
+      int itemInactiveCount = 0;
+      List<ItemPrice> newPrices = new ArrayList<>();
 
-          totalProcessed++;
+      for (PriceData priceData : priceDataList) {
+        // 같은 날짜, 같은 URL이 이미 존재하거나 이번 응답에서 이미 처리한 경우 스킵
+        if (!existingUrls.add(priceData.getUrl())) {
+          itemDuplicateCount++;
+          continue;
         }
 
-      } catch (Exception e) {
-        log.error("Failed to validate prices for item: {} ({})", item.getName(), item.getItemCode(), e);
-      }
-    }
+        // 코멘트 필터와 IQR 검증 결과에 따라 상태 결정
+        boolean isValid = priceData.getStatus().equals("ACTIVE") && bounds.contains(priceData.getPrice());
 
-    log.info("Validation completed - Processed: {} item-dates, Total inactivated: {}",
-        totalProcessed, totalInactivated);
-  }
-
-  /**
-   * 인기 아이템 조회 (조회수 기준 상위 N개)
-   *
-   * @param limit 조회할 아이템 개수
-   * @return 인기 아이템 목록
-   */
-  public List<PopularItemDto> getPopularItems(int limit) {
-    List<Item> popularItems = itemRepository.findAllOrderByViewCountDesc(limit);
-    LocalDate today = LocalDate.now();
-    LocalDate yesterday = today.minusDays(1);
+        ItemPrice.PriceStatus status = isValid ? ItemPrice.PriceStatus.ACTIVE : ItemPrice.PriceStatus.INACTIVE;
 
-    return popularItems.stream()
-        .map(item -> {
-          // 오늘 평균 가격 조회
-          Double todayAvg = itemPriceRepository.findAvgPriceByItemAndDate(item, today);
+        // 모든 데이터를 저장 (이상치는 INACTIVE 상태로)
+        newPrices.add(ItemPrice.builder()
+            .item(item)
+            .date(today)
+            .price(priceData.getPrice())
+            .url(priceData.getUrl())
+            .comment(priceData.getComment())
+            .status(status)
+            .build());
 
-          // 전날 평균 가격 조회
-          Double yesterdayAvg = itemPriceRepository.findAvgPriceByItemAndDate(item, yesterday);
+        if (isValid) {
+          itemNewCount++;
+        } else {
+          itemInactiveCount++;
+        }
+      }
 
-          // 등락율 계산
-          Double priceChangeRate = 0.0;
-          if (todayAvg != null && yesterdayAvg != null && yesterdayAvg > 0) {
-            priceChangeRate = ((todayAvg - yesterdayAvg) / yesterdayAvg) * 100;
-          }
+      // 배치 INSERT로 일괄 저장하고, 같은 트랜잭션에서 ACTIVE 가격을 일별 통계에 병합
+      itemPriceBatchWriter.insertAll(newPrices, chunk -> itemDailyStatsService.recordInserted(item, today,
+          chunk.stream()
+              .filter(itemPrice -> itemPrice.getStatus() == ItemPrice.PriceStatus.ACTIVE)
+              .mapToLong(ItemPrice::getPrice)
+              .toArray()));
+      observedPrices = Arrays.copyOf(observedPrices, observedCount);
+      boolean rollupChanged = priceRollupService.recordSnapshot(runId, item, capturedAt, observedPrices);
+
+      summary.newDataCount += itemNewCount;
+      summary.duplicateCount += itemDuplicateCount;
+
+      if (itemNewCount > 0 || itemInactiveCount > 0) {
+        log.info("Saved {} ACTIVE and {} INACTIVE prices for item: {} ({}) - {} duplicates skipped",
+            itemNewCount, itemInactiveCount, item.getName(), item.getItemCode(), itemDuplicateCount);
+        summary.successCount++;
+      } else {
+        log.debug("No new prices for item: {} ({}) - {} duplicates",
+            item.getName(), item.getItemCode(), itemDuplicateCount);
+      }
+      return new SaveResult(observedPrices, newPrices.size(), rollupChanged);
 
-          return PopularItemDto.builder()
-              .itemCode(item.getItemCode())
-              .name(item.getName())
-              .imageUrl(item.getImageUrl())
-              .currentAvgPrice(todayAvg != null ? todayAvg.longValue() : null)
-              .priceChangeRate(priceChangeRate)
-              .build();
-        })
-        .collect(Collectors.toList());
+    } catch (Exception e) {
+      log.error("Failed to save prices for item: {} ({})", item.getName(), item.getItemCode(), e);
+      summary.skipCount++;
+      return null;
+    }
   }
 
   /**
@@ -400,11 +408,8 @@ public class ItemService {
    * @param itemCode 아이템 코드
    * @return 아이템 상세 DTO (없으면 null)
    */
-  @Transactional
+  @Transactional(readOnly = true)
   public ItemDetailDto getItemDetail(String itemCode) {
-    // 조회수 증가 (Repository 직접 호출로 변경)
-    itemRepository.incrementViewCount(itemCode);
-
     // 아이템 조회
     Optional<Item> itemOptional = itemRepository.findByItemCode(itemCode);
     if (itemOptional.isEmpty()) {
@@ -429,10 +434,12 @@ public class ItemService {
 
   /**
    * 아이템의 가격 히스토리 조회
+   * 조회 기간에 맞는 단위를 선택합니다. (7일 이하: 8시간, 90일 이하: 일, 365일 이하: 주, 그 이상: 월)
+   * 선택한 단위의 집계가 아직 없으면 일 단위로 조회합니다.
    *
    * @param itemCode 아이템 코드
    * @param days     조회할 일수 (기본 30일)
-   * @return 가격 히스토리 목록
+   * @return 가격 히스토리 목록 (최신순)
    */
   public List<PriceHistoryDto> getPriceHistory(String itemCode, int days) {
     Optional<Item> itemOptional = itemRepository.findByItemCode(itemCode);
@@ -444,53 +451,158 @@ public class ItemService {
     Item item = itemOptional.get();
     LocalDate startDate = LocalDate.now().minusDays(days);
 
-    // 날짜별 통계 조회
-    List<Object[]> stats = itemPriceRepository.findDailyStatsByItemAndDateAfter(item, startDate);
+    PriceRollup.Resolution resolution = selectHistoryResolution(days);
+    if (resolution != null) {
+      List<PriceRollup> rollups = priceRollupService.findHistory(item, resolution, startDate.atStartOfDay());
+      if (!rollups.isEmpty()) {
+        return rollups.stream()
+            .map(rollup -> toPriceHistoryDto(rollup.getBucketStart(), rollup.averagePrice(), rollup.getMinPrice(),
+                rollup.getMaxPrice(), rollup.getPriceSketch(), rollup.getCount()))
+            .collect(Collectors.toList());
+      }
+    }
+
+    // 날짜별 통계 조회 (일별 통계 테이블)
+    List<ItemDailyStats> stats = itemDailyStatsRepository.findByItemAndDateGreaterThanEqualOrderByDateDesc(item, startDate);
 
     return stats.stream()
-        .map(stat -> {
-          LocalDate date = (LocalDate) stat[0];
-          Double avgPrice = (Double) stat[1];
-          Long minPrice = (Long) stat[2];
-          Long maxPrice = (Long) stat[3];
-          Long count = (Long) stat[4];
-
-          // 중앙값 계산 (단순화: 평균값 사용)
-          Long medianPrice = avgPrice != null ? avgPrice.longValue() : null;
-
-          return new PriceHistoryDto(
-              date,
-              avgPrice != null ? avgPrice.longValue() : null,
-              minPrice,
-              maxPrice,
-              medianPrice,
-              count.intValue()
-          );
-        })
+        .map(stat -> toPriceHistoryDto(stat.getDate().atStartOfDay(), stat.averagePrice(), stat.getMinPrice(),
+            stat.getMaxPrice(), stat.getPriceSketch(), stat.getCount()))
         .collect(Collectors.toList());
   }
 
+  /**
+   * 차트용 가격 추이 조회 (구간 시작 시각 오름차순)
+   * 가격 히스토리와 같이 조회 기간에 맞는 단위를 선택하므로, 1년 범위는 주 단위 집계 약 52행만 읽습니다.
+   * 선택한 단위의 집계가 아직 없으면 일 단위로 조회하며,
+   * 점 수가 maxPoints보다 많으면 평균가 곡선의 모양을 유지하도록 LTTB로 줄입니다.
+   *
+   * @return 아이템이 없으면 null
+   */
+  public PriceSeriesDto getPriceSeries(String itemCode, int days, int maxPoints) {
+    Optional<Item> itemOptional = itemRepository.findByItemCode(itemCode);
+    if (itemOptional.isEmpty()) {
+      log.warn("Item not found with itemCode: {}", itemCode);
+      return null;
+    }
+
+    Item item = itemOptional.get();
+    LocalDate startDate = LocalDate.now().minusDays(days);
+
+    // 거래가 없던 구간(통계만 남은 날)은 차트에서 제외
+    PriceRollup.Resolution resolution = selectHistoryResolution(days);
+    List<SeriesPoint> points = new ArrayList<>();
+    if (resolution != null) {
+      for (PriceRollup rollup : priceRollupService.findHistory(item, resolution, startDate.atStartOfDay())) {
+        if (rollup.getCount() > 0) {
+          points.add(new SeriesPoint(rollup.getBucketStart(), rollup.averagePrice(), rollup.getMinPrice(),
+              rollup.getMaxPrice(), rollup.getCount()));
+        }
+      }
+    }
+    if (points.isEmpty()) {
+      resolution = null;
+      for (ItemDailyStats stat : itemDailyStatsRepository.findByItemAndDateGreaterThanEqualOrderByDateDesc(item, startDate)) {
+        if (stat.getCount() > 0) {
+          points.add(new SeriesPoint(stat.getDate().atStartOfDay(), stat.averagePrice(), stat.getMinPrice(),
+              stat.getMaxPrice(), stat.getCount()));
+        }
+      }
+    }
+    Collections.reverse(points);
+
+    double[] x = new double[points.size()];
+    double[] y = new double[points.size()];
+    for (int i = 0; i < points.size(); i++) {
+      x[i] = points.get(i).time().toEpochSecond(ZoneOffset.UTC);
+      y[i] = points.get(i).avgPrice();
+    }
+    int[] selected = SeriesDownsampler.lttb(x, y, maxPoints);
+
+    List<LocalDateTime> timestamps = new ArrayList<>(selected.length);
+    long[] avgPrices = new long[selected.length];
+    long[] minPrices = new long[selected.length];
+    long[] maxPrices = new long[selected.length];
+    int[] counts = new int[selected.length];
+    for (int i = 0; i < selected.length; i++) {
+      SeriesPoint point = points.get(selected[i]);
+      timestamps.add(point.time());
+      avgPrices[i] = (long) point.avgPrice();
+      minPrices[i] = point.minPrice();
+      maxPrices[i] = point.maxPrice();
+      counts[i] = point.count();
+    }
+
+    return new PriceSeriesDto(itemCode, days, resolution != null ? resolution.name() : DAILY_RESOLUTION,
+        points.size(), timestamps, avgPrices, minPrices, maxPrices, counts);
+  }
+
+  /**
+   * 조회 기간에 맞는 집계 단위 선택 (일 단위는 null)
+   */
+  private PriceRollup.Resolution selectHistoryResolution(int days) {
+    if (days <= HOURLY_HISTORY_MAX_DAYS) {
+      return PriceRollup.Resolution.HOUR_8;
+    }
+    if (days <= DAILY_HISTORY_MAX_DAYS) {
+      return null;
+    }
+    if (days <= WEEKLY_HISTORY_MAX_DAYS) {
+      return PriceRollup.Resolution.WEEK;
+    }
+    return PriceRollup.Resolution.MONTH;
+  }
+
+  private PriceHistoryDto toPriceHistoryDto(LocalDateTime bucketStart, double avgPrice, Long minPrice, Long maxPrice,
+      byte[] priceSketch, Integer count) {
+    // 사분위수 (분위수 스케치)
+    long[] quartiles = PriceSketch.quantilesOf(priceSketch, QUARTILES);
+
+    return new PriceHistoryDto(
+        bucketStart.toLocalDate(),
+        bucketStart,
+        (long) avgPrice,
+        minPrice,
+        maxPrice,
+        quartiles != null ? quartiles[0] : null,
+        quartiles != null ? quartiles[1] : null,
+        quartiles != null ? quartiles[2] : null,
+        count
+    );
+  }
+
   /**
    * 특정 날짜의 가격 통계 조회
+   * 당일과 전날 통계를 한 번의 쿼리로 가져와 변동률까지 계산합니다.
    */
   private TodayPriceDto getTodayPriceStats(Item item, LocalDate date) {
-    Double avgPriceDouble = itemPriceRepository.findAvgPriceByItemAndDate(item, date);
-    Long minPrice = itemPriceRepository.findMinPriceByItemAndDate(item, date);
-    Long maxPrice = itemPriceRepository.findMaxPriceByItemAndDate(item, date);
-    Integer count = itemPriceRepository.findCountByItemAndDate(item, date);
+    LocalDate previousDate = date.minusDays(1);
+    Map<LocalDate, ItemDailyStats> statsByDate = itemDailyStatsRepository
+        .findByItemAndDateIn(item, List.of(date, previousDate)).stream()
+        .collect(Collectors.toMap(ItemDailyStats::getDate, stat -> stat));
 
-    Long avgPrice = avgPriceDouble != null ? avgPriceDouble.longValue() : null;
-    Long medianPrice = avgPrice; // 단순화: 평균값을 중앙값으로 사용
+    ItemDailyStats current = statsByDate.get(date);
+    ItemDailyStats previous = statsByDate.get(previousDate);
+
+    Long avgPrice = current != null ? (long) current.averagePrice() : null;
+    Long minPrice = current != null ? current.getMinPrice() : null;
+    Long maxPrice = current != null ? current.getMaxPrice() : null;
+    Integer count = current != null ? current.getCount() : 0;
+    long[] quartiles = current != null ? PriceSketch.quantilesOf(current.getPriceSketch(), QUARTILES) : null;
 
     // 전날 대비 변동률 계산
-    Double changeRate = calculateChangeRate(item, date);
+    Double changeRate = calculateChangeRate(
+        current != null ? current.averagePrice() : null,
+        previous != null ? previous.averagePrice() : null);
 
     return new TodayPriceDto(
         date,
         avgPrice,
         minPrice,
         maxPrice,
-        medianPrice,
+        quartiles != null ? quartiles[0] : null,
+        quartiles != null ? quartiles[1] : null,
+        quartiles != null ? quartiles[2] : null,
         count,
         changeRate
     );
@@ -499,12 +611,7 @@ public class ItemService {
   /**
    * 전날 대비 가격 변동률 계산
    */
-  private Double calculateChangeRate(Item item, LocalDate currentDate) {
-    LocalDate previousDate = currentDate.minusDays(1);
-
-    Double currentAvg = itemPriceRepository.findAvgPriceByItemAndDate(item, currentDate);
-    Double previousAvg = itemPriceRepository.findAvgPriceByItemAndDate(item, previousDate);
-
+  private Double calculateChangeRate(Double currentAvg, Double previousAvg) {
     if (currentAvg == null || previousAvg == null || previousAvg == 0) {
       return 0.0;
     }
@@ -534,4 +641,48 @@ public class ItemService {
     }
     return true;
   }
+
+  /**
+   * 한 아이템의 저장 결과
+   */
+  private record SaveResult(long[] observedPrices, int insertedCount, boolean rollupChanged) {
+  }
+
+  /**
+   * 한 아이템의 수집 처리 결과 (CHANGED: 가격 행/일별 통계나 8시간 집계가 바뀜, UNCHANGED: 수집했지만 바뀐 데이터 없음)
+   */
+  private enum FetchOutcome {
+    CHANGED,
+    UNCHANGED,
+    FAILED
+  }
+
+  /**
+   * 아이템 정보 수집 실행 결과 집계 (호출 스레드에서만 갱신)
+   */
+  private static class ItemInfoCollectionSummary {
+
+    private int successCount;
+    private int skipCount;
+  }
+
+  /**
+   * 가격 수집 실행 결과 집계 (호출 스레드에서만 갱신)
+   */
+  private static class PriceCollectionSummary {
+
+    private int successCount;
+    private int skipCount;
+    private int newDataCount;
+    private int duplicateCount;
+    private int notModifiedCount;
+    private int unchangedCount;
+    private int changedCount;
+  }
+
+  /**
+   * 차트 한 점 (일별 통계 또는 기간 집계 한 행)
+   */
+  private record SeriesPoint(LocalDateTime time, double avgPrice, long minPrice, long maxPrice, int count) {
+  }
 }
@@ -0,0 +1,56 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.PriceData;
+import java.util.List;
+
+/**
+ * 판매 목록 해시
+ * 목록 항목(가격, URL, 코멘트)마다 64비트 해시를 구해 더하므로 응답 순서가 바뀌어도 같은 값이 나옵니다.
+ * ETag를 주지 않는 API에서 같은 날 내용이 바뀌지 않은 응답을 판별하는 데 사용합니다.
+ */
+public final class ListingFingerprint {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private ListingFingerprint() {
+  }
+
+  public static long of(List<PriceData> listings) {
+    long hash = listings.size();
+    for (PriceData listing : listings) {
+      hash += mix(listingHash(listing));
+    }
+    return hash;
+  }
+
+  private static long listingHash(PriceData listing) {
+    long hash = FNV_OFFSET;
+    hash = (hash ^ (listing.getPrice() != null ? listing.getPrice() : -1L)) * FNV_PRIME;
+    hash = append(hash, listing.getUrl());
+    hash = append(hash, listing.getComment());
+    return hash;
+  }
+
+  /**
+   * 문자열을 FNV-1a로 누적합니다. (null과 빈 문자열을 구분하도록 길이를 먼저 누적)
+   */
+  private static long append(long hash, String value) {
+    hash = (hash ^ (value != null ? value.length() : -1)) * FNV_PRIME;
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * 항목 해시를 고르게 섞어 합산 시 충돌을 줄입니다. (splitmix64 finalizer)
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+}
@@ -0,0 +1,20 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.PriceAlertNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가격 알림 로그 기록
+ */
+@Component
+@Slf4j
+public class LoggingPriceAlertSink implements PriceAlertSink {
+
+  @Override
+  public void send(AlertRuleIndex.Rule rule, PriceAlertNotification notification) {
+    log.info("Price alert {} - {} ({}) {} {} : avg {}, change {}%", notification.getRuleId(),
+        notification.getItemName(), notification.getItemCode(), notification.getType(), notification.getThreshold(),
+        notification.getAvgPrice(), notification.getChangeRate());
+  }
+}
@@ -0,0 +1,148 @@
+package com.nangoso.pricetracker.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 시장 지표 집계 (수집 실행마다 한 번, 전체 아이템을 한 번만 순회)
+ * 아이템별 최근 수집일/그 이전 수집일의 일별 통계를 받아 판매 목록 수 가중 시장 지수와
+ * 상위 N개 순위(상승/하락/판매 목록 많은/거래 적은)를 계산합니다.
+ * 아이템마다 수집 주기가 달라 하루 초반에는 자주 수집하는 아이템만 오늘 통계가 있으므로, 순위와 건수는 아이템별 최근 수집일 기준입니다.
+ * 순위는 크기 N의 힙으로 유지하므로 메모리와 정렬 비용이 아이템 수에 비례해 늘지 않습니다.
+ *
+ * 지수는 전날 종가 지수에 평균가 비율의 가중 평균을 곱하는 연쇄 지수입니다.
+ * 기준 날짜에 수집된 아이템은 이전 수집일 대비 비율(가중치는 이전 수집일 판매 목록 수)을,
+ * 아직 수집되지 않은 아이템은 마지막 가격을 유지한 것으로 보고 비율 1(가중치는 최근 판매 목록 수)을 반영하므로,
+ * 이미 전날 지수에 반영된 변동을 다시 곱하지 않습니다. 매일 바구니를 다시 구성하므로 아이템이 새로 추가되거나 빠져도 이어집니다.
+ */
+public class MarketAnalytics {
+
+  private static final Comparator<Mover> BY_CHANGE = Comparator.comparingDouble(Mover::changeRate);
+  private static final Comparator<Mover> BY_LISTINGS = Comparator.comparingInt(Mover::listingCount);
+  // 같은 값이면 아이템 코드 순 (실행마다 같은 결과)
+  private static final Comparator<Mover> BY_CODE = Comparator.comparing(Mover::itemCode);
+
+  private final int topN;
+  private final int minListings;
+
+  private final PriorityQueue<Mover> gainers;
+  private final PriorityQueue<Mover> losers;
+  private final PriorityQueue<Mover> mostListed;
+  private final PriorityQueue<Mover> leastLiquid;
+
+  private double weightedRatio;
+  private double weightSum;
+  // 기준 날짜에 수집되어 비율이 반영된 아이템이 있는지 (없으면 지수 변동률 없음)
+  private boolean indexChanged;
+  private int itemCount;
+  private long listingCount;
+
+  /**
+   * @param topN        순위별 아이템 수
+   * @param minListings 상승/하락 순위에 포함할 최소 판매 목록 수 (양일 모두, 소량 거래의 급변 제외)
+   */
+  public MarketAnalytics(int topN, int minListings) {
+    this.topN = topN;
+    this.minListings = minListings;
+    // 각 힙의 맨 위는 순위에서 가장 먼저 밀려날 아이템
+    this.gainers = new PriorityQueue<>(BY_CHANGE.thenComparing(BY_CODE.reversed()));
+    this.losers = new PriorityQueue<>(BY_CHANGE.reversed().thenComparing(BY_CODE.reversed()));
+    this.mostListed = new PriorityQueue<>(BY_LISTINGS.thenComparing(BY_CODE.reversed()));
+    this.leastLiquid = new PriorityQueue<>(BY_LISTINGS.reversed().thenComparing(BY_CODE.reversed()));
+  }
+
+  /**
+   * 아이템 하나의 최근 수집일/이전 수집일 통계를 반영합니다. (건수가 0이면 해당 날짜 거래 없음)
+   *
+   * @param collectedOnMarketDate 최근 수집일이 기준 날짜인지 (아니면 지수에서 마지막 가격 유지로 계산)
+   */
+  public void add(String itemCode, String name, String imageUrl, int count, long priceSum,
+      int previousCount, long previousSum, boolean collectedOnMarketDate) {
+    if (count <= 0 && previousCount <= 0) {
+      return;
+    }
+
+    Long avgPrice = count > 0 ? Math.round((double) priceSum / count) : null;
+    Double changeRate = null;
+    if (count > 0 && previousCount > 0 && previousSum > 0) {
+      double average = (double) priceSum / count;
+      double previousAverage = (double) previousSum / previousCount;
+      changeRate = (average - previousAverage) / previousAverage * 100;
+
+      if (collectedOnMarketDate) {
+        weightedRatio += previousCount * (average / previousAverage);
+        weightSum += previousCount;
+        indexChanged = true;
+      }
+    }
+    if (!collectedOnMarketDate && count > 0) {
+      weightedRatio += count;
+      weightSum += count;
+    }
+
+    Mover mover = new Mover(itemCode, name, imageUrl, avgPrice, changeRate, Math.max(count, 0));
+    if (count > 0) {
+      itemCount++;
+      listingCount += count;
+      offer(mostListed, mover);
+      offer(leastLiquid, mover);
+    }
+
+    if (changeRate != null && count >= minListings && previousCount >= minListings) {
+      if (changeRate > 0) {
+        offer(gainers, mover);
+      } else if (changeRate < 0) {
+        offer(losers, mover);
+      }
+    }
+  }
+
+  /**
+   * @param previousLevel 전날 종가 지수 (첫 계산이면 기준값)
+   */
+  public Result result(double previousLevel) {
+    double ratio = indexChanged ? weightedRatio / weightSum : 1.0;
+    Double indexChangeRate = indexChanged ? (ratio - 1) * 100 : null;
+    return new Result(
+        previousLevel * ratio,
+        indexChangeRate,
+        itemCount,
+        listingCount,
+        drain(gainers),
+        drain(losers),
+        drain(mostListed),
+        drain(leastLiquid)
+    );
+  }
+
+  private void offer(PriorityQueue<Mover> heap, Mover mover) {
+    heap.offer(mover);
+    if (heap.size() > topN) {
+      heap.poll();
+    }
+  }
+
+  // 힙에서 꺼낸 순서(밀려날 순서)를 뒤집어 1위부터 반환
+  private static List<Mover> drain(PriorityQueue<Mover> heap) {
+    List<Mover> ranked = new ArrayList<>(heap.size());
+    while (!heap.isEmpty()) {
+      ranked.add(0, heap.poll());
+    }
+    return ranked;
+  }
+
+  /**
+   * @param avgPrice     최근 수집일 평균가 (거래가 없으면 null)
+   * @param changeRate   이전 수집일 대비 변동률 (%, 두 날짜 모두 거래가 없으면 null)
+   * @param listingCount 최근 수집일 판매 목록 수
+   */
+  public record Mover(String itemCode, String name, String imageUrl, Long avgPrice, Double changeRate,
+      int listingCount) {
+  }
+
+  public record Result(double indexLevel, Double indexChangeRate, int itemCount, long listingCount,
+      List<Mover> gainers, List<Mover> losers, List<Mover> mostListed, List<Mover> leastLiquid) {
+  }
+}
@@ -0,0 +1,233 @@
+package com.nangoso.pricetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nangoso.pricetracker.dto.MarketMoverDto;
+import com.nangoso.pricetracker.dto.MarketOverviewDto;
+import com.nangoso.pricetracker.entity.CollectionRun;
+import com.nangoso.pricetracker.entity.MarketSnapshot;
+import com.nangoso.pricetracker.event.CollectionRunCompletedEvent;
+import com.nangoso.pricetracker.event.PriceCollectionTickEvent;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
+import com.nangoso.pricetracker.repository.MarketSnapshotRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 시장 지표 서비스
+ * 가격 수집 실행이 끝나면(수집 주기마다는 일정 시간 간격으로) 전체 아이템의 최근 일별 통계를 한 번의 쿼리로 읽어
+ * 아이템별 최근 수집일과 그 이전 수집일을 비교해 시장 지수와 순위를 계산하고, 버전(ID)이 붙은 스냅샷으로 저장합니다.
+ * 입력 통계가 마지막 계산과 같으면 저장하지 않으며, 지난 날짜의 중간 스냅샷은 날짜별 마지막 스냅샷(종가)만 남기고 삭제합니다.
+ * 조회는 메모리의 마지막 스냅샷을 그대로 반환합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketAnalyticsService {
+
+  private static final double BASE_INDEX_LEVEL = 100.0;
+
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final MarketSnapshotRepository marketSnapshotRepository;
+  private final ObjectMapper objectMapper;
+
+  @Value("${market.top-n:10}")
+  private int topN;
+
+  @Value("${market.min-listings:3}")
+  private int minListings;
+
+  @Value("${market.tick-refresh-minutes:60}")
+  private long tickRefreshMinutes;
+
+  @Value("${market.lookback-days:2}")
+  private int lookbackDays;
+
+  private volatile MarketOverviewDto overview;
+  private volatile LocalDateTime refreshedAt;
+  // 마지막으로 계산한 입력 (기준 날짜, 통계 행과 전날 종가 지수의 해시)
+  private LocalDate lastInputDate;
+  private long lastInputHash;
+
+  /**
+   * 마지막 스냅샷을 불러오고, 오늘 스냅샷이 없으면 새로 계산합니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    marketSnapshotRepository.findFirstByOrderByIdDesc().ifPresent(snapshot -> {
+      try {
+        overview = toOverview(snapshot);
+      } catch (JsonProcessingException e) {
+        log.warn("Failed to read market snapshot {} - recalculating", snapshot.getId(), e);
+      }
+    });
+
+    MarketOverviewDto current = overview;
+    if (current == null || !LocalDate.now().equals(current.getMarketDate())) {
+      refresh(null);
+    }
+  }
+
+  @EventListener
+  public void onCollectionRunCompleted(CollectionRunCompletedEvent event) {
+    if (event.type() == CollectionRun.RunType.PRICE) {
+      refresh(event.runId());
+    }
+  }
+
+  /**
+   * 수집 주기마다 발행되므로, 마지막 계산 후 설정한 시간이 지난 경우에만 다시 계산합니다.
+   */
+  @EventListener
+  public void onPriceCollectionTick(PriceCollectionTickEvent event) {
+    LocalDateTime lastRefreshedAt = refreshedAt;
+    if (lastRefreshedAt == null || lastRefreshedAt.plusMinutes(tickRefreshMinutes).isBefore(LocalDateTime.now())) {
+      refresh(event.runId());
+    }
+  }
+
+  /**
+   * 마지막 시장 개요 (DB 조회 없음, 아직 계산 전이면 null)
+   */
+  public MarketOverviewDto getOverview() {
+    return overview;
+  }
+
+  /**
+   * 마지막 스냅샷 버전 (계산 전이면 0, HTTP 응답 검증자로 사용)
+   */
+  public long getVersion() {
+    MarketOverviewDto current = overview;
+    return current != null ? current.getVersion() : 0L;
+  }
+
+  /**
+   * 시장 지표를 다시 계산해 새 스냅샷으로 저장합니다. (입력 통계가 마지막 계산과 같으면 저장하지 않음)
+   */
+  public synchronized void refresh(Long runId) {
+    long startTime = System.currentTimeMillis();
+    LocalDate today = LocalDate.now();
+
+    // 전날 종가 지수에 연쇄 (이전 스냅샷이 없으면 기준값)
+    double previousLevel = marketSnapshotRepository.findFirstByMarketDateLessThanOrderByIdDesc(today)
+        .map(MarketSnapshot::getIndexLevel)
+        .orElse(BASE_INDEX_LEVEL);
+
+    // 아이템 ID, 날짜 순으로 정렬된 행을 한 번 순회하며 아이템별 (최근 수집일, 이전 수집일) 통계를 모아 집계
+    MarketAnalytics analytics = new MarketAnalytics(topN, minListings);
+    long inputHash = Double.hashCode(previousLevel);
+    String itemCode = null;
+    String name = null;
+    String imageUrl = null;
+    LocalDate date = null;
+    int count = 0;
+    long sum = 0;
+    int previousCount = 0;
+    long previousSum = 0;
+    for (Object[] row : itemDailyStatsRepository.findMarketRows(today.minusDays(lookbackDays), today)) {
+      String rowCode = (String) row[0];
+      if (!rowCode.equals(itemCode)) {
+        if (itemCode != null) {
+          analytics.add(itemCode, name, imageUrl, count, sum, previousCount, previousSum, today.equals(date));
+        }
+        itemCode = rowCode;
+        name = (String) row[1];
+        imageUrl = (String) row[2];
+        count = 0;
+        sum = 0;
+      }
+      previousCount = count;
+      previousSum = sum;
+      date = (LocalDate) row[3];
+      count = (Integer) row[4];
+      sum = (Long) row[5];
+      inputHash = 31 * inputHash + Objects.hash(rowCode, date, count, sum);
+    }
+    if (itemCode != null) {
+      analytics.add(itemCode, name, imageUrl, count, sum, previousCount, previousSum, today.equals(date));
+    }
+
+    refreshedAt = LocalDateTime.now();
+    if (overview != null && today.equals(lastInputDate) && inputHash == lastInputHash) {
+      log.debug("Market snapshot {} unchanged - skipped", overview.getVersion());
+      return;
+    }
+    MarketAnalytics.Result result = analytics.result(previousLevel);
+
+    LocalDateTime now = LocalDateTime.now();
+    MarketOverviewDto next = new MarketOverviewDto(
+        null,
+        today,
+        now,
+        result.indexLevel(),
+        result.indexChangeRate(),
+        result.itemCount(),
+        result.listingCount(),
+        toDtos(result.gainers()),
+        toDtos(result.losers()),
+        toDtos(result.mostListed()),
+        toDtos(result.leastLiquid())
+    );
+
+    try {
+      MarketSnapshot snapshot = marketSnapshotRepository.save(MarketSnapshot.builder()
+          .runId(runId)
+          .marketDate(today)
+          .indexLevel(result.indexLevel())
+          .indexChangeRate(result.indexChangeRate())
+          .itemCount(result.itemCount())
+          .listingCount(result.listingCount())
+          .payload(objectMapper.writeValueAsString(next))
+          .createdAt(now)
+          .build());
+      next.setVersion(snapshot.getId());
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize market snapshot", e);
+      return;
+    }
+
+    overview = next;
+    lastInputDate = today;
+    lastInputHash = inputHash;
+    log.info("Market snapshot {} - index {} ({}%), {} items, {} listings ({}ms)", next.getVersion(),
+        String.format("%.2f", next.getIndexLevel()),
+        next.getIndexChangeRate() != null ? String.format("%.2f", next.getIndexChangeRate()) : "-",
+        next.getItemCount(), next.getListingCount(), System.currentTimeMillis() - startTime);
+  }
+
+  /**
+   * 지난 날짜의 중간 스냅샷을 삭제합니다. (날짜별 마지막 스냅샷은 종가 지수로 유지)
+   */
+  @Scheduled(cron = "${market.purge-cron:0 50 4 * * *}")
+  @Transactional
+  public void purgeIntradaySnapshots() {
+    int deleted = marketSnapshotRepository.deleteIntradayBefore(LocalDate.now());
+    if (deleted > 0) {
+      log.info("Purged {} intraday market snapshots", deleted);
+    }
+  }
+
+  private MarketOverviewDto toOverview(MarketSnapshot snapshot) throws JsonProcessingException {
+    MarketOverviewDto loaded = objectMapper.readValue(snapshot.getPayload(), MarketOverviewDto.class);
+    loaded.setVersion(snapshot.getId());
+    return loaded;
+  }
+
+  private static List<MarketMoverDto> toDtos(List<MarketAnalytics.Mover> movers) {
+    return movers.stream()
+        .map(mover -> new MarketMoverDto(mover.itemCode(), mover.name(), mover.imageUrl(), mover.avgPrice(),
+            mover.changeRate(), mover.listingCount()))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,129 @@
+package com.nangoso.pricetracker.service;
+
+/**
+ * IQR 방식의 이상치 경계
+ * long 배열에서 quickselect로 Q1/Q3를 구하고 [Q1 - 1.5 * IQR, Q3 + 1.5 * IQR] 범위를 반환합니다.
+ * 정렬이나 박싱 없이 O(n)으로 계산되며, 판별은 경계 비교만으로 O(1)입니다.
+ */
+public final class OutlierBounds {
+
+  /**
+   * IQR 계산에 필요한 최소 데이터 수 (미만이면 모든 값을 정상으로 판단)
+   */
+  public static final int MIN_SAMPLE_SIZE = 4;
+
+  private static final OutlierBounds UNBOUNDED =
+      new OutlierBounds(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+  private final double lowerBound;
+  private final double upperBound;
+
+  private OutlierBounds(double lowerBound, double upperBound) {
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * 가격 배열로 이상치 경계를 계산합니다. 입력 배열은 변경하지 않습니다.
+   */
+  public static OutlierBounds of(long[] values) {
+    return of(values, values.length);
+  }
+
+  /**
+   * 가격 배열의 앞 length개로 이상치 경계를 계산합니다. 입력 배열은 변경하지 않습니다.
+   */
+  public static OutlierBounds of(long[] values, int length) {
+    if (length < MIN_SAMPLE_SIZE) {
+      return UNBOUNDED;
+    }
+
+    long[] scratch = new long[length];
+    System.arraycopy(values, 0, scratch, 0, length);
+
+    double q1 = percentile(scratch, 25);
+    double q3 = percentile(scratch, 75);
+    double iqr = q3 - q1;
+
+    return new OutlierBounds(q1 - 1.5 * iqr, q3 + 1.5 * iqr);
+  }
+
+  /**
+   * 경계 안의 값인지 확인합니다.
+   */
+  public boolean contains(long value) {
+    return value >= lowerBound && value <= upperBound;
+  }
+
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * 선형 보간 퍼센타일 (정렬된 배열의 index = p/100 * (n - 1) 위치와 동일한 값)
+   */
+  private static double percentile(long[] values, double percentile) {
+    double index = percentile / 100.0 * (values.length - 1);
+    int i = (int) index;
+    double fraction = index - i;
+
+    long lower = select(values, i);
+    if (i + 1 >= values.length || fraction == 0) {
+      return lower;
+    }
+
+    // select 이후 i 다음 위치부터는 모두 lower 이상이므로, 그중 최솟값이 (i + 1)번째 값
+    long upper = Long.MAX_VALUE;
+    for (int k = i + 1; k < values.length; k++) {
+      upper = Math.min(upper, values[k]);
+    }
+    return lower + (upper - lower) * fraction;
+  }
+
+  /**
+   * k번째로 작은 값을 찾습니다. (quickselect, 배열 순서가 변경됨)
+   */
+  private static long select(long[] values, int k) {
+    int left = 0;
+    int right = values.length - 1;
+
+    while (left < right) {
+      long pivot = medianOfThree(values[left], values[(left + right) >>> 1], values[right]);
+      int i = left;
+      int j = right;
+
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          long tmp = values[i];
+          values[i] = values[j];
+          values[j] = tmp;
+          i++;
+          j--;
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return values[k];
+      }
+    }
+    return values[k];
+  }
+
+  private static long medianOfThree(long a, long b, long c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+}
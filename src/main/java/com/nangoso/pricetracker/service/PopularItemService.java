@@ -0,0 +1,148 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.PopularItemDto;
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
+import com.nangoso.pricetracker.event.CollectionRunCompletedEvent;
+import com.nangoso.pricetracker.event.PriceCollectionTickEvent;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 인기 아이템 스냅샷 서비스
+ * 메인 페이지용 인기 아이템 목록을 메모리에 보관하고, 수집 완료(스냅샷 아이템의 수집 포함)나 조회수 순위 변경 시에만 다시 계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PopularItemService {
+
+  private final ItemRepository itemRepository;
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final ViewCountService viewCountService;
+
+  @Value("${popular-items.snapshot-size:20}")
+  private int snapshotSize;
+
+  private volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), null, 0L);
+
+  /**
+   * 인기 아이템 조회 (조회수 기준 상위 N개) - DB 조회 없이 스냅샷에서 반환
+   *
+   * @param limit 조회할 아이템 개수
+   * @return 인기 아이템 목록
+   */
+  public List<PopularItemDto> getPopularItems(int limit) {
+    List<PopularItemDto> items = snapshot.items();
+    return items.subList(0, Math.min(limit, items.size()));
+  }
+
+  /**
+   * 스냅샷을 마지막으로 다시 계산한 시각 (epoch millis, 메인 페이지 응답 검증자로 사용)
+   */
+  public long getRefreshedAt() {
+    return snapshot.refreshedAt();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refresh();
+  }
+
+  @EventListener
+  public void onCollectionRunCompleted(CollectionRunCompletedEvent event) {
+    refresh();
+  }
+
+  /**
+   * 수집 주기마다 발행되므로, 이번 주기에 수집한 아이템이 스냅샷에 있을 때만 다시 계산합니다.
+   */
+  @EventListener
+  public void onPriceCollectionTick(PriceCollectionTickEvent event) {
+    List<String> rankedCodes = snapshot.rankedCodes();
+    if (rankedCodes.stream().anyMatch(event.collectedCodes()::contains)) {
+      refresh();
+    }
+  }
+
+  /**
+   * 조회수 순위나 날짜가 바뀐 경우에만 스냅샷을 다시 계산합니다. 순위는 메모리의 조회수로 판단합니다.
+   */
+  @Scheduled(fixedDelayString = "${popular-items.ranking-check-ms:60000}")
+  public void refreshIfRankingChanged() {
+    List<String> rankedCodes = viewCountService.findTopItemCodes(snapshotSize);
+
+    Snapshot current = snapshot;
+    if (!rankedCodes.equals(current.rankedCodes()) || !LocalDate.now().equals(current.date())) {
+      refresh();
+    }
+  }
+
+  /**
+   * 인기 아이템 스냅샷 재계산
+   * 상위 아이템의 오늘/전날 통계를 한 번의 쿼리로 조회합니다.
+   */
+  public synchronized void refresh() {
+    List<String> rankedCodes = viewCountService.findTopItemCodes(snapshotSize);
+    Map<String, Item> itemsByCode = itemRepository.findByItemCodeIn(rankedCodes).stream()
+        .collect(Collectors.toMap(Item::getItemCode, item -> item));
+    List<Item> popularItems = rankedCodes.stream()
+        .map(itemsByCode::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+    LocalDate today = LocalDate.now();
+    LocalDate yesterday = today.minusDays(1);
+
+    List<Long> itemIds = popularItems.stream()
+        .map(Item::getId)
+        .collect(Collectors.toList());
+
+    Map<Long, Map<LocalDate, ItemDailyStats>> statsByItem = new HashMap<>();
+    if (!itemIds.isEmpty()) {
+      for (ItemDailyStats stats : itemDailyStatsRepository.findByItemIdsAndDates(itemIds, List.of(today, yesterday))) {
+        statsByItem.computeIfAbsent(stats.getItem().getId(), id -> new HashMap<>()).put(stats.getDate(), stats);
+      }
+    }
+
+    List<PopularItemDto> items = popularItems.stream()
+        .map(item -> {
+          Map<LocalDate, ItemDailyStats> stats = statsByItem.getOrDefault(item.getId(), Map.of());
+          Double todayAvg = stats.containsKey(today) ? stats.get(today).averagePrice() : null;
+          Double yesterdayAvg = stats.containsKey(yesterday) ? stats.get(yesterday).averagePrice() : null;
+
+          // 등락율 계산
+          Double priceChangeRate = 0.0;
+          if (todayAvg != null && yesterdayAvg != null && yesterdayAvg > 0) {
+            priceChangeRate = ((todayAvg - yesterdayAvg) / yesterdayAvg) * 100;
+          }
+
+          return PopularItemDto.builder()
+              .itemCode(item.getItemCode())
+              .name(item.getName())
+              .imageUrl(item.getImageUrl())
+              .currentAvgPrice(todayAvg != null ? todayAvg.longValue() : null)
+              .priceChangeRate(priceChangeRate)
+              .build();
+        })
+        .collect(Collectors.toList());
+
+    snapshot = new Snapshot(List.copyOf(items), List.copyOf(rankedCodes), today, System.currentTimeMillis());
+    log.debug("Popular items snapshot refreshed - {} items", items.size());
+  }
+
+  private record Snapshot(List<PopularItemDto> items, List<String> rankedCodes, LocalDate date, long refreshedAt) {
+  }
+}
@@ -0,0 +1,272 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.ItemDetailDto;
+import com.nangoso.pricetracker.dto.PriceAlertNotification;
+import com.nangoso.pricetracker.dto.PriceAlertRuleDto;
+import com.nangoso.pricetracker.dto.PriceAlertRuleRequest;
+import com.nangoso.pricetracker.dto.TodayPriceDto;
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
+import com.nangoso.pricetracker.entity.PriceAlertRule;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import com.nangoso.pricetracker.repository.PriceAlertRuleRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 가격 급변 알림 서비스
+ * 규칙은 DB에 저장하고 메모리의 기준값 인덱스(AlertRuleIndex)로 평가합니다.
+ * 수집으로 아이템 가격이 바뀔 때(커밋 후) 그 아이템의 규칙만, 이번에 기준선을 넘은 것만 찾아 알림 채널로 보냅니다.
+ * 로그인이 없으므로 등록 응답으로 삭제 토큰을 한 번만 돌려주고(DB에는 해시만 저장), 삭제할 때 그 토큰을 확인합니다.
+ * 웹훅 주소는 비밀 값이므로 목록에는 가려서 노출하며, 아이템당 규칙 수를 제한합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertService {
+
+  private final PriceAlertRuleRepository priceAlertRuleRepository;
+  private final ItemRepository itemRepository;
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final ItemReadCache itemReadCache;
+  private final ItemSearchIndex itemSearchIndex;
+  private final List<PriceAlertSink> sinks;
+
+  private final AlertRuleIndex ruleIndex = new AlertRuleIndex();
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  @Value("${alert.max-rules-per-item:50}")
+  private int maxRulesPerItem;
+
+  /**
+   * 저장된 규칙으로 인덱스를 만들고, 규칙이 있는 아이템의 현재 시세를 기준 상태로 기록합니다.
+   * (재시작 직후 이미 넘어가 있는 기준선을 다시 알리지 않도록)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadRules() {
+    for (PriceAlertRule rule : priceAlertRuleRepository.findAll()) {
+      ruleIndex.add(toIndexRule(rule));
+    }
+    if (ruleIndex.size() == 0) {
+      return;
+    }
+
+    LocalDate today = LocalDate.now();
+    LocalDate yesterday = today.minusDays(1);
+    List<Item> items = itemRepository.findByItemCodeIn(ruleIndex.itemCodes());
+    Map<Long, Map<LocalDate, ItemDailyStats>> statsByItem = new HashMap<>();
+    List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+    for (ItemDailyStats stats : itemDailyStatsRepository.findByItemIdsAndDates(itemIds, List.of(today, yesterday))) {
+      statsByItem.computeIfAbsent(stats.getItem().getId(), id -> new HashMap<>()).put(stats.getDate(), stats);
+    }
+
+    for (Item item : items) {
+      Map<LocalDate, ItemDailyStats> stats = statsByItem.getOrDefault(item.getId(), Map.of());
+      ItemDailyStats current = stats.get(today);
+      ItemDailyStats previous = stats.get(yesterday);
+      if (current != null && current.getCount() > 0) {
+        Double changeRate = previous != null && previous.averagePrice() > 0
+            ? (current.averagePrice() - previous.averagePrice()) / previous.averagePrice() * 100
+            : null;
+        ruleIndex.observe(item.getItemCode(), today, current.averagePrice(), changeRate);
+      } else if (previous != null && previous.getCount() > 0) {
+        ruleIndex.observe(item.getItemCode(), yesterday, previous.averagePrice(), null);
+      }
+    }
+    log.info("Price alert rules loaded - {} rules for {} items", ruleIndex.size(), items.size());
+  }
+
+  /**
+   * 알림 규칙 등록
+   *
+   * @throws IllegalArgumentException 요청 값이 올바르지 않은 경우
+   */
+  @Transactional
+  public PriceAlertRuleDto createRule(PriceAlertRuleRequest request) {
+    if (request.getItemCode() == null || !itemSearchIndex.contains(request.getItemCode())) {
+      throw new IllegalArgumentException("아이템 코드를 찾을 수 없습니다: " + request.getItemCode());
+    }
+    if (request.getType() == null) {
+      throw new IllegalArgumentException("알림 조건을 입력해주세요.");
+    }
+    if (request.getThreshold() == null || !(request.getThreshold() > 0) || request.getThreshold().isInfinite()) {
+      throw new IllegalArgumentException("기준값은 0보다 커야 합니다.");
+    }
+    String webhookUrl = request.getWebhookUrl() == null || request.getWebhookUrl().isBlank()
+        ? null : request.getWebhookUrl().trim();
+    if (webhookUrl != null) {
+      HttpUrl url = HttpUrl.parse(webhookUrl);
+      if (url == null || !WebhookPriceAlertSink.isAllowedUrl(url)) {
+        throw new IllegalArgumentException("웹훅 주소는 공개된 https 주소여야 합니다.");
+      }
+    }
+    if (priceAlertRuleRepository.countByItemCode(request.getItemCode()) >= maxRulesPerItem) {
+      throw new IllegalArgumentException("이 아이템에는 알림 규칙을 더 등록할 수 없습니다.");
+    }
+
+    byte[] tokenBytes = new byte[32];
+    secureRandom.nextBytes(tokenBytes);
+    String deleteToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+    PriceAlertRule rule = priceAlertRuleRepository.save(PriceAlertRule.builder()
+        .itemCode(request.getItemCode())
+        .type(request.getType())
+        .threshold(request.getThreshold())
+        .webhookUrl(webhookUrl)
+        .deleteTokenHash(hashToken(deleteToken))
+        .createdAt(LocalDateTime.now())
+        .build());
+
+    ruleIndex.add(toIndexRule(rule));
+    // 처음 규칙이 생긴 아이템은 현재 시세를 기준 상태로 기록 (등록 시점에 이미 넘어가 있는 기준선은 알리지 않음)
+    if (!ruleIndex.hasObservation(rule.getItemCode())) {
+      TodayPriceDto todayPrice = todayPrice(rule.getItemCode());
+      if (todayPrice != null) {
+        ruleIndex.observe(rule.getItemCode(), todayPrice.getDate(), todayPrice.getAvgPrice(), todayPrice.getChangeRate());
+      }
+    }
+    return toDto(rule, deleteToken);
+  }
+
+  /**
+   * 알림 규칙 삭제 (등록 응답으로 받은 삭제 토큰이 맞아야 삭제)
+   *
+   * @return 삭제 여부 (없는 규칙이거나 토큰이 맞지 않으면 false - 규칙 존재 여부를 드러내지 않음)
+   */
+  @Transactional
+  public boolean deleteRule(Long ruleId, String deleteToken) {
+    PriceAlertRule rule = priceAlertRuleRepository.findById(ruleId).orElse(null);
+    if (rule == null || rule.getDeleteTokenHash() == null || deleteToken == null || deleteToken.isBlank()
+        || !MessageDigest.isEqual(rule.getDeleteTokenHash().getBytes(StandardCharsets.US_ASCII),
+            hashToken(deleteToken.trim()).getBytes(StandardCharsets.US_ASCII))) {
+      return false;
+    }
+    priceAlertRuleRepository.delete(rule);
+    ruleIndex.remove(ruleId);
+    return true;
+  }
+
+  /**
+   * 아이템의 알림 규칙 목록 (최근 등록순, 웹훅 주소는 가리고 삭제 토큰은 포함하지 않음)
+   */
+  public List<PriceAlertRuleDto> findRules(String itemCode) {
+    return priceAlertRuleRepository.findByItemCodeOrderByIdDesc(itemCode).stream()
+        .map(rule -> toDto(rule, null))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 가격이 바뀐 아이템의 규칙을 평가합니다. (커밋 후, 조회 캐시 버전이 오른 뒤 실행)
+   * 규칙이 없는 아이템은 아무 것도 조회하지 않습니다.
+   */
+  @Order(20)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemPricesChanged(ItemPricesChangedEvent event) {
+    String itemCode = event.itemCode();
+    if (!ruleIndex.hasRules(itemCode)) {
+      return;
+    }
+
+    ItemDetailDto detail = itemReadCache.getItemDetail(itemCode);
+    TodayPriceDto todayPrice = detail != null ? detail.getTodayPrice() : null;
+    if (todayPrice == null || todayPrice.getAvgPrice() == null) {
+      return;
+    }
+
+    List<AlertRuleIndex.Rule> triggered = ruleIndex.evaluate(itemCode, todayPrice.getDate(),
+        todayPrice.getAvgPrice(), todayPrice.getChangeRate());
+    if (triggered.isEmpty()) {
+      return;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    priceAlertRuleRepository.markTriggered(
+        triggered.stream().map(AlertRuleIndex.Rule::id).collect(Collectors.toList()), now);
+
+    for (AlertRuleIndex.Rule rule : triggered) {
+      PriceAlertNotification notification = new PriceAlertNotification(
+          rule.id(),
+          itemCode,
+          detail.getName(),
+          rule.type().name(),
+          rule.threshold(),
+          todayPrice.getAvgPrice(),
+          todayPrice.getChangeRate(),
+          now
+      );
+      for (PriceAlertSink sink : sinks) {
+        try {
+          sink.send(rule, notification);
+        } catch (RuntimeException e) {
+          log.error("Price alert sink {} failed for rule {}", sink.getClass().getSimpleName(), rule.id(), e);
+        }
+      }
+    }
+  }
+
+  private TodayPriceDto todayPrice(String itemCode) {
+    ItemDetailDto detail = itemReadCache.getItemDetail(itemCode);
+    TodayPriceDto todayPrice = detail != null ? detail.getTodayPrice() : null;
+    return todayPrice != null && todayPrice.getAvgPrice() != null ? todayPrice : null;
+  }
+
+  private AlertRuleIndex.Rule toIndexRule(PriceAlertRule rule) {
+    return new AlertRuleIndex.Rule(rule.getId(), rule.getItemCode(), rule.getType(), rule.getThreshold(),
+        rule.getWebhookUrl());
+  }
+
+  private PriceAlertRuleDto toDto(PriceAlertRule rule, String deleteToken) {
+    return new PriceAlertRuleDto(
+        rule.getId(),
+        rule.getItemCode(),
+        rule.getType().name(),
+        rule.getThreshold(),
+        maskWebhookUrl(rule.getWebhookUrl()),
+        rule.getCreatedAt(),
+        rule.getLastTriggeredAt(),
+        deleteToken
+    );
+  }
+
+  /**
+   * 웹훅 주소의 경로(토큰 포함)를 가립니다. (예: https://discord.com/***)
+   */
+  static String maskWebhookUrl(String webhookUrl) {
+    if (webhookUrl == null) {
+      return null;
+    }
+    HttpUrl url = HttpUrl.parse(webhookUrl);
+    return url != null ? url.scheme() + "://" + url.host() + "/***" : "***";
+  }
+
+  private static String hashToken(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
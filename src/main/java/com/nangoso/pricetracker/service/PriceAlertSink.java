@@ -0,0 +1,16 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.PriceAlertNotification;
+
+/**
+ * 가격 알림 전송 채널
+ * 등록된 모든 구현체가 알림마다 호출됩니다. 수집 스레드에서 호출되므로 네트워크 전송은 비동기로 처리해야 합니다.
+ */
+public interface PriceAlertSink {
+
+  /**
+   * @param rule         기준선을 넘은 규칙 (웹훅 주소 등 전송 설정)
+   * @param notification 알림 내용
+   */
+  void send(AlertRuleIndex.Rule rule, PriceAlertNotification notification);
+}
@@ -0,0 +1,112 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.ItemPrice;
+import com.nangoso.pricetracker.repository.ItemPriceRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 오래된 가격 원본 보관 작업
+ * 보관 기간이 지난 월 단위로 item_prices 행을 압축 컬럼 파일(PriceArchiveStore)로 옮기고 원본 테이블에서 삭제합니다.
+ * 옮기기 전에 해당 월의 일별 통계를 모두 채워두므로, 가격 이력 조회는 보관 여부와 관계없이 같은 결과를 반환합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceArchiveService {
+
+  private final PriceArchiveStore priceArchiveStore;
+  private final ItemPriceRepository itemPriceRepository;
+  private final ItemRepository itemRepository;
+  private final ItemDailyStatsService itemDailyStatsService;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${archive.retention-days:180}")
+  private int retentionDays;
+
+  /**
+   * 보관 기간이 지난 월의 가격 원본을 보관 파일로 옮깁니다. (보관 기간 0 이하면 사용 안 함)
+   * 월 전체가 보관 기간을 지난 경우에만 옮깁니다.
+   */
+  @Scheduled(cron = "${archive.cron:0 30 4 * * *}")
+  public void archiveExpiredMonths() {
+    if (retentionDays <= 0) {
+      return;
+    }
+
+    LocalDate oldest = itemPriceRepository.findMinDate();
+    if (oldest == null) {
+      return;
+    }
+
+    YearMonth cutoff = YearMonth.from(LocalDate.now().minusDays(retentionDays));
+    if (!YearMonth.from(oldest).isBefore(cutoff)) {
+      return;
+    }
+
+    itemDailyStatsService.backfillSketches();
+
+    for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+      try {
+        archiveMonth(month);
+      } catch (Exception e) {
+        // 실패한 월 이후는 다음 실행에서 다시 시도 (삭제 전 실패면 원본이 그대로 남음)
+        log.error("Failed to archive item prices for {}", month, e);
+        return;
+      }
+    }
+  }
+
+  private void archiveMonth(YearMonth month) {
+    LocalDate from = month.atDay(1);
+    LocalDate to = month.plusMonths(1).atDay(1);
+    long startTime = System.currentTimeMillis();
+
+    // 1. 원본을 지우기 전에 일별 통계가 없는 (아이템, 날짜)의 통계 생성
+    List<Object[]> missingStats = itemPriceRepository.findActivePartitionsWithoutStats(from, to);
+    for (Object[] partition : missingStats) {
+      Long itemId = (Long) partition[0];
+      LocalDate date = (LocalDate) partition[1];
+      transactionTemplate.executeWithoutResult(status ->
+          itemDailyStatsService.rebuild(itemRepository.getReferenceById(itemId), date));
+    }
+
+    // 2. 월 전체 행을 스트림으로 읽어 컬럼 파일로 기록
+    PriceArchiveStore.Columns columns = priceArchiveStore.newColumns();
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<Object[]> rows = itemPriceRepository.streamForArchive(from, to)) {
+        rows.forEach(row -> {
+          LocalDate date = (LocalDate) row[2];
+          LocalDateTime createdAt = row[7] != null ? (LocalDateTime) row[7] : date.atStartOfDay();
+          columns.add((Long) row[0], (Long) row[1], date, (Long) row[3], (ItemPrice.PriceStatus) row[4],
+              (String) row[5], (String) row[6], createdAt);
+        });
+      }
+    });
+    if (columns.size() == 0) {
+      return;
+    }
+    priceArchiveStore.writeMonth(month, columns);
+
+    // 3. 기록이 끝난 뒤 원본 삭제 (날짜 단위 트랜잭션)
+    int deleted = 0;
+    for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+      LocalDate day = date;
+      Integer count = transactionTemplate.execute(status -> itemPriceRepository.deleteByDate(day));
+      deleted += count == null ? 0 : count;
+    }
+
+    log.info("Archived item prices for {} - {} rows, {} stats rebuilt, {} rows deleted ({}ms)",
+        month, columns.size(), missingStats.size(), deleted, System.currentTimeMillis() - startTime);
+  }
+}
@@ -0,0 +1,615 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.ItemPrice;
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 오래된 가격 데이터의 월 단위 컬럼 파일 저장소
+ * 한 달치 가격을 (아이템, 날짜, 가격) 순으로 정렬해 컬럼별로 나누어 저장합니다.
+ * 숫자 컬럼은 이전 행과의 차이값(zigzag 가변 길이 정수), URL/코멘트는 사전 인덱스로 인코딩한 뒤 아이템 블록의 컬럼마다 Deflate로 압축합니다.
+ * 읽기는 메모리 매핑된 파일에서 아이템 디렉터리로 블록 위치를 찾아 그 아이템 블록의 필요한 컬럼만 해제하므로,
+ * 아이템 하루치 조회 비용은 월 전체가 아니라 그 아이템의 한 달 행 수에 비례합니다.
+ *
+ * <pre>
+ * magic(int) version(int) rowCount(int) itemCount(int)
+ * itemCount x [itemId(long) rowCount(int) blockOffset(long) blockLength(int)]   // 아이템 ID 오름차순, 압축하지 않음
+ * 아이템 블록: COLUMN_COUNT x [compressedLength(int) rawLength(int)] + 압축 컬럼 (ID, DATE, PRICE, STATUS, CREATED_AT, URL, COMMENT)
+ * </pre>
+ */
+@Service
+@Slf4j
+public class PriceArchiveStore {
+
+  private static final int MAGIC = 0x4D504131; // "MPA1"
+  private static final int FORMAT_VERSION = 2;
+  private static final String FILE_PREFIX = "item_prices-";
+  private static final String FILE_SUFFIX = ".col";
+
+  private static final int COLUMN_ID = 0;
+  private static final int COLUMN_DATE = 1;
+  private static final int COLUMN_PRICE = 2;
+  private static final int COLUMN_STATUS = 3;
+  private static final int COLUMN_CREATED_AT = 4;
+  private static final int COLUMN_URL = 5;
+  private static final int COLUMN_COMMENT = 6;
+  private static final int COLUMN_COUNT = 7;
+
+  private static final int HEADER_BYTES = 16;
+  private static final int ITEM_ENTRY_BYTES = 24;
+  private static final int COLUMN_ENTRY_BYTES = 8;
+
+  private final Path archiveDir;
+  private final Set<YearMonth> archivedMonths = ConcurrentHashMap.newKeySet();
+  private final Map<YearMonth, MappedByteBuffer> mappedFiles = new ConcurrentHashMap<>();
+
+  public PriceArchiveStore(@Value("${archive.dir:./data/archive}") String archiveDir) {
+    this.archiveDir = Paths.get(archiveDir);
+  }
+
+  /**
+   * 보관 디렉터리의 월 파일 목록을 읽어 보관된 월을 등록합니다.
+   */
+  @PostConstruct
+  public void loadArchivedMonths() {
+    if (!Files.isDirectory(archiveDir)) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        archivedMonths.add(YearMonth.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to list price archive: " + archiveDir, e);
+    }
+    log.info("Price archive loaded - {} months in {}", archivedMonths.size(), archiveDir.toAbsolutePath());
+  }
+
+  /**
+   * 날짜가 보관된 월에 속하는지 확인합니다.
+   */
+  public boolean isArchived(LocalDate date) {
+    return archivedMonths.contains(YearMonth.from(date));
+  }
+
+  /**
+   * 보관된 월 목록
+   */
+  public Set<YearMonth> getArchivedMonths() {
+    return Collections.unmodifiableSet(archivedMonths);
+  }
+
+  /**
+   * 새 컬럼 빌더 생성
+   */
+  public Columns newColumns() {
+    return new Columns();
+  }
+
+  /**
+   * 한 달치 가격을 파일로 기록합니다.
+   * 이미 파일이 있으면 기존 행과 합치며, 같은 ID의 행은 한 번만 기록합니다. (원본 삭제 전에 중단된 경우 재실행 대비)
+   * 임시 파일에 기록하고 디스크에 반영한 뒤 교체하므로, 기록 중 중단되어도 기존 파일은 손상되지 않습니다.
+   */
+  public synchronized void writeMonth(YearMonth month, Columns columns) {
+    Path file = fileOf(month);
+    try {
+      Files.createDirectories(archiveDir);
+      if (Files.exists(file)) {
+        readAll(map(file), columns);
+      }
+
+      byte[] encoded = encode(columns.sorted());
+      Path tempFile = archiveDir.resolve(file.getFileName() + ".tmp");
+      try (FileChannel channel = FileChannel.open(tempFile,
+          StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      mappedFiles.remove(month);
+      archivedMonths.add(month);
+      log.info("Archived {} price rows for {} ({} bytes)", columns.size(), month, encoded.length);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write price archive for " + month, e);
+    }
+  }
+
+  /**
+   * 보관된 특정 아이템의 특정 날짜 ACTIVE 가격 조회 (일별 통계 재계산용)
+   * 그 아이템 블록의 날짜/가격/상태 컬럼만 해제하며, 보관되지 않은 날짜면 빈 배열입니다.
+   */
+  public long[] readActivePrices(long itemId, LocalDate date) {
+    YearMonth month = YearMonth.from(date);
+    if (!archivedMonths.contains(month)) {
+      return new long[0];
+    }
+
+    ByteBuffer buffer = mappedFiles.computeIfAbsent(month, key -> map(fileOf(key))).duplicate();
+    ItemBlock block = Header.read(buffer).findItem(buffer, itemId);
+    if (block == null) {
+      return new long[0];
+    }
+
+    // 블록 안의 행은 (날짜, 가격) 순이므로 날짜 범위의 끝까지만 해제
+    long epochDay = date.toEpochDay();
+    long[] epochDays = decodeDeltas(block.column(buffer, COLUMN_DATE), block.rowCount);
+    int first = 0;
+    while (first < block.rowCount && epochDays[first] < epochDay) {
+      first++;
+    }
+    int end = first;
+    while (end < block.rowCount && epochDays[end] == epochDay) {
+      end++;
+    }
+    if (first == end) {
+      return new long[0];
+    }
+
+    long[] prices = decodeDeltas(block.column(buffer, COLUMN_PRICE), end);
+    byte[] statuses = block.column(buffer, COLUMN_STATUS);
+    long[] active = new long[end - first];
+    int count = 0;
+    for (int row = first; row < end; row++) {
+      if (statuses[row] == ItemPrice.PriceStatus.ACTIVE.ordinal()) {
+        active[count++] = prices[row];
+      }
+    }
+    return Arrays.copyOf(active, count);
+  }
+
+  private void readAll(ByteBuffer buffer, Columns target) {
+    Header header = Header.read(buffer);
+    for (int i = 0; i < header.itemCount; i++) {
+      ItemBlock block = header.block(buffer, i);
+      int rows = block.rowCount;
+      long[] ids = decodeDeltas(block.column(buffer, COLUMN_ID), rows);
+      long[] epochDays = decodeDeltas(block.column(buffer, COLUMN_DATE), rows);
+      long[] prices = decodeDeltas(block.column(buffer, COLUMN_PRICE), rows);
+      byte[] statuses = block.column(buffer, COLUMN_STATUS);
+      long[] createdAt = decodeDeltas(block.column(buffer, COLUMN_CREATED_AT), rows);
+      String[] urls = decodeDictionary(block.column(buffer, COLUMN_URL), rows);
+      String[] comments = decodeDictionary(block.column(buffer, COLUMN_COMMENT), rows);
+      for (int row = 0; row < rows; row++) {
+        target.add(ids[row], block.itemId, LocalDate.ofEpochDay(epochDays[row]), prices[row],
+            ItemPrice.PriceStatus.values()[statuses[row]], urls[row], comments[row], toLocalDateTime(createdAt[row]));
+      }
+    }
+  }
+
+  private static byte[] encode(Columns columns) {
+    int rows = columns.size();
+
+    // 정렬된 행을 아이템별로 나누어 아이템마다 컬럼 블록을 따로 압축
+    List<long[]> items = new ArrayList<>();
+    List<byte[]> blocks = new ArrayList<>();
+    for (int first = 0; first < rows; ) {
+      int end = first;
+      while (end < rows && columns.itemIds[end] == columns.itemIds[first]) {
+        end++;
+      }
+      items.add(new long[]{columns.itemIds[first], end - first});
+      blocks.add(encodeItemBlock(columns, first, end));
+      first = end;
+    }
+
+    int headerSize = HEADER_BYTES + items.size() * ITEM_ENTRY_BYTES;
+    int totalSize = headerSize;
+    for (byte[] block : blocks) {
+      totalSize += block.length;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+    buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(rows).putInt(items.size());
+    long offset = headerSize;
+    for (int i = 0; i < items.size(); i++) {
+      buffer.putLong(items.get(i)[0]).putInt((int) items.get(i)[1]).putLong(offset).putInt(blocks.get(i).length);
+      offset += blocks.get(i).length;
+    }
+    for (byte[] block : blocks) {
+      buffer.put(block);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * 한 아이템의 행 범위 [first, end)를 컬럼별로 인코딩/압축한 블록
+   */
+  private static byte[] encodeItemBlock(Columns columns, int first, int end) {
+    byte[][] rawColumns = new byte[COLUMN_COUNT][];
+    rawColumns[COLUMN_ID] = encodeDeltas(columns.ids, first, end);
+    rawColumns[COLUMN_DATE] = encodeDeltas(columns.epochDays, first, end);
+    rawColumns[COLUMN_PRICE] = encodeDeltas(columns.prices, first, end);
+    rawColumns[COLUMN_STATUS] = Arrays.copyOfRange(columns.statuses, first, end);
+    rawColumns[COLUMN_CREATED_AT] = encodeDeltas(columns.createdAt, first, end);
+    rawColumns[COLUMN_URL] = encodeDictionary(columns.urls, first, end);
+    rawColumns[COLUMN_COMMENT] = encodeDictionary(columns.comments, first, end);
+
+    byte[][] compressed = new byte[COLUMN_COUNT][];
+    int size = COLUMN_COUNT * COLUMN_ENTRY_BYTES;
+    for (int c = 0; c < COLUMN_COUNT; c++) {
+      compressed[c] = deflate(rawColumns[c]);
+      size += compressed[c].length;
+    }
+
+    ByteBuffer block = ByteBuffer.allocate(size);
+    for (int c = 0; c < COLUMN_COUNT; c++) {
+      block.putInt(compressed[c].length).putInt(rawColumns[c].length);
+    }
+    for (byte[] column : compressed) {
+      block.put(column);
+    }
+    return block.array();
+  }
+
+  private Path fileOf(YearMonth month) {
+    return archiveDir.resolve(FILE_PREFIX + month + FILE_SUFFIX);
+  }
+
+  private static MappedByteBuffer map(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to map price archive: " + file, e);
+    }
+  }
+
+  private static long toEpochMillis(LocalDateTime time) {
+    return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+  }
+
+  private static byte[] encodeDeltas(long[] values, int first, int end) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream((end - first) * 2);
+    long previous = 0;
+    for (int i = first; i < end; i++) {
+      writeVarLong(out, zigzag(values[i] - previous));
+      previous = values[i];
+    }
+    return out.toByteArray();
+  }
+
+  private static long[] decodeDeltas(byte[] bytes, int count) {
+    long[] values = new long[count];
+    int[] cursor = new int[1];
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      previous += unzigzag(readVarLong(bytes, cursor));
+      values[i] = previous;
+    }
+    return values;
+  }
+
+  /**
+   * 사전 인코딩 (사전 크기, 항목별 UTF-8 길이와 바이트, 행별 사전 인덱스 + 1 / null은 0)
+   */
+  private static byte[] encodeDictionary(String[] values, int first, int end) {
+    int count = end - first;
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> entries = new ArrayList<>();
+    int[] indexes = new int[count];
+    for (int i = 0; i < count; i++) {
+      String value = values[first + i];
+      if (value == null) {
+        continue;
+      }
+      Integer index = dictionary.get(value);
+      if (index == null) {
+        index = entries.size();
+        dictionary.put(value, index);
+        entries.add(value);
+      }
+      indexes[i] = index + 1;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(count * 2);
+    writeVarLong(out, entries.size());
+    for (String entry : entries) {
+      byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(out, utf8.length);
+      out.write(utf8, 0, utf8.length);
+    }
+    for (int i = 0; i < count; i++) {
+      writeVarLong(out, indexes[i]);
+    }
+    return out.toByteArray();
+  }
+
+  private static String[] decodeDictionary(byte[] bytes, int count) {
+    int[] cursor = new int[1];
+    String[] entries = new String[(int) readVarLong(bytes, cursor)];
+    for (int i = 0; i < entries.length; i++) {
+      int length = (int) readVarLong(bytes, cursor);
+      entries[i] = new String(bytes, cursor[0], length, StandardCharsets.UTF_8);
+      cursor[0] += length;
+    }
+
+    String[] values = new String[count];
+    for (int i = 0; i < count; i++) {
+      int index = (int) readVarLong(bytes, cursor);
+      values[i] = index == 0 ? null : entries[index - 1];
+    }
+    return values;
+  }
+
+  private static byte[] deflate(byte[] raw) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(ByteBuffer compressed, int rawLength) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      byte[] raw = new byte[rawLength];
+      int offset = 0;
+      while (offset < rawLength && !inflater.finished()) {
+        offset += inflater.inflate(raw, offset, rawLength - offset);
+      }
+      return raw;
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupted price archive column", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(byte[] bytes, int[] cursor) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = bytes[cursor[0]++];
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  /**
+   * 파일 헤더 (아이템 디렉터리)
+   */
+  private static final class Header {
+
+    private int itemCount;
+
+    private static Header read(ByteBuffer buffer) {
+      ByteBuffer view = buffer.duplicate().position(0);
+      if (view.getInt() != MAGIC) {
+        throw new IllegalStateException("Not a price archive file");
+      }
+      int version = view.getInt();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalStateException("Unsupported price archive version: " + version);
+      }
+
+      Header header = new Header();
+      view.getInt(); // 전체 행 수 (읽기에는 사용하지 않음)
+      header.itemCount = view.getInt();
+      return header;
+    }
+
+    /**
+     * 아이템 디렉터리에서 이진 탐색으로 아이템 블록 조회 (없으면 null)
+     */
+    private ItemBlock findItem(ByteBuffer buffer, long itemId) {
+      int low = 0;
+      int high = itemCount - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        long midId = buffer.getLong(HEADER_BYTES + mid * ITEM_ENTRY_BYTES);
+        if (midId < itemId) {
+          low = mid + 1;
+        } else if (midId > itemId) {
+          high = mid - 1;
+        } else {
+          return block(buffer, mid);
+        }
+      }
+      return null;
+    }
+
+    private ItemBlock block(ByteBuffer buffer, int index) {
+      int position = HEADER_BYTES + index * ITEM_ENTRY_BYTES;
+      return new ItemBlock(buffer.getLong(position), buffer.getInt(position + 8), (int) buffer.getLong(position + 12));
+    }
+  }
+
+  /**
+   * 아이템 하나의 압축 컬럼 블록 (블록 앞의 컬럼별 길이로 필요한 컬럼 위치를 계산)
+   */
+  private static final class ItemBlock {
+
+    private final long itemId;
+    private final int rowCount;
+    private final int offset;
+
+    private ItemBlock(long itemId, int rowCount, int offset) {
+      this.itemId = itemId;
+      this.rowCount = rowCount;
+      this.offset = offset;
+    }
+
+    private byte[] column(ByteBuffer buffer, int column) {
+      int position = offset + COLUMN_COUNT * COLUMN_ENTRY_BYTES;
+      for (int c = 0; c < column; c++) {
+        position += buffer.getInt(offset + c * COLUMN_ENTRY_BYTES);
+      }
+      int compressedLength = buffer.getInt(offset + column * COLUMN_ENTRY_BYTES);
+      int rawLength = buffer.getInt(offset + column * COLUMN_ENTRY_BYTES + 4);
+      return inflate(buffer.duplicate().position(position).limit(position + compressedLength), rawLength);
+    }
+  }
+
+  /**
+   * 보관 대상 행을 컬럼별 배열로 모으는 빌더 (행마다 객체를 만들지 않음)
+   */
+  public static final class Columns {
+
+    private int size;
+    private long[] ids = new long[1024];
+    private long[] itemIds = new long[1024];
+    private long[] epochDays = new long[1024];
+    private long[] prices = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private long[] createdAt = new long[1024];
+    private String[] urls = new String[1024];
+    private String[] comments = new String[1024];
+
+    // 같은 문자열은 한 인스턴스만 보관
+    private final Map<String, String> strings = new HashMap<>();
+    private final Set<Long> idSet = new HashSet<>();
+
+    private Columns() {
+    }
+
+    /**
+     * 행 추가 (이미 추가된 ID면 무시)
+     */
+    public void add(long id, long itemId, LocalDate date, long price, ItemPrice.PriceStatus status,
+        String url, String comment, LocalDateTime created) {
+      if (!idSet.add(id)) {
+        return;
+      }
+      if (size == ids.length) {
+        grow();
+      }
+      ids[size] = id;
+      itemIds[size] = itemId;
+      epochDays[size] = date.toEpochDay();
+      prices[size] = price;
+      statuses[size] = (byte) status.ordinal();
+      createdAt[size] = toEpochMillis(created);
+      urls[size] = url == null ? null : strings.computeIfAbsent(url, key -> key);
+      comments[size] = comment == null ? null : strings.computeIfAbsent(comment, key -> key);
+      size++;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    /**
+     * (아이템, 날짜, 가격, ID) 순으로 정렬된 복사본
+     */
+    private Columns sorted() {
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> {
+        if (itemIds[a] != itemIds[b]) {
+          return Long.compare(itemIds[a], itemIds[b]);
+        }
+        if (epochDays[a] != epochDays[b]) {
+          return Long.compare(epochDays[a], epochDays[b]);
+        }
+        if (prices[a] != prices[b]) {
+          return Long.compare(prices[a], prices[b]);
+        }
+        return Long.compare(ids[a], ids[b]);
+      });
+
+      Columns sorted = new Columns();
+      sorted.ensureCapacity(size);
+      for (int i = 0; i < size; i++) {
+        int row = order[i];
+        sorted.ids[i] = ids[row];
+        sorted.itemIds[i] = itemIds[row];
+        sorted.epochDays[i] = epochDays[row];
+        sorted.prices[i] = prices[row];
+        sorted.statuses[i] = statuses[row];
+        sorted.createdAt[i] = createdAt[row];
+        sorted.urls[i] = urls[row];
+        sorted.comments[i] = comments[row];
+      }
+      sorted.size = size;
+      return sorted;
+    }
+
+    private void grow() {
+      ensureCapacity(ids.length * 2);
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= ids.length) {
+        return;
+      }
+      ids = Arrays.copyOf(ids, capacity);
+      itemIds = Arrays.copyOf(itemIds, capacity);
+      epochDays = Arrays.copyOf(epochDays, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+      statuses = Arrays.copyOf(statuses, capacity);
+      createdAt = Arrays.copyOf(createdAt, capacity);
+      urls = Arrays.copyOf(urls, capacity);
+      comments = Arrays.copyOf(comments, capacity);
+    }
+  }
+}
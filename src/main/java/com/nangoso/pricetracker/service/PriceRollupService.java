@@ -0,0 +1,290 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemDailyStats;
+import com.nangoso.pricetracker.entity.PriceRollup;
+import com.nangoso.pricetracker.entity.PriceSnapshot;
+import com.nangoso.pricetracker.repository.ItemDailyStatsRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import com.nangoso.pricetracker.repository.PriceRollupRepository;
+import com.nangoso.pricetracker.repository.PriceSnapshotRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 수집 시점 스냅샷과 기간 단위 가격 집계(price_rollups) 관리 서비스
+ * 8시간 집계는 구간의 마지막 수집 스냅샷으로 덮어쓰고, 주/월 집계는 일별 통계에 들어가는 변경분을 병합하여 갱신합니다.
+ * 값이 빠지는 변경(비활성화 등)은 해당 주/월을 일별 통계에서 다시 계산합니다.
+ * 스냅샷과 8시간 집계는 보관 기간이 지나면 삭제합니다. (긴 기간은 일/주/월 집계로 조회)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceRollupService {
+
+  private static final PriceRollup.Resolution[] DAILY_DERIVED = {PriceRollup.Resolution.WEEK, PriceRollup.Resolution.MONTH};
+
+  private final PriceSnapshotRepository priceSnapshotRepository;
+  private final PriceRollupRepository priceRollupRepository;
+  private final ItemDailyStatsRepository itemDailyStatsRepository;
+  private final ItemRepository itemRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${rollup.snapshot-retention-days:14}")
+  private int snapshotRetentionDays;
+
+  /**
+   * 수집 실행에서 관측한 ACTIVE 가격을 스냅샷으로 저장하고 8시간 집계를 갱신합니다.
+   *
+   * @return 8시간 집계가 새로 생겼거나 값이 바뀌었는지
+   */
+  @Transactional
+  public boolean recordSnapshot(Long runId, Item item, LocalDateTime capturedAt, long[] activePrices) {
+    if (activePrices.length == 0) {
+      return false;
+    }
+
+    PriceSketch sketch = new PriceSketch();
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (long price : activePrices) {
+      sketch.update(price);
+      sum += price;
+      min = Math.min(min, price);
+      max = Math.max(max, price);
+    }
+
+    return recordSnapshot(runId, item, capturedAt, sketch, sum, min, max);
+  }
+
+  /**
+   * 이미 집계된 관측 값을 스냅샷으로 저장하고 8시간 집계를 갱신합니다.
+   * 판매 목록이 이전 수집과 같아 가격을 다시 읽지 않은 아이템에 사용합니다.
+   *
+   * @return 8시간 집계가 새로 생겼거나 값이 바뀌었는지
+   */
+  @Transactional
+  public boolean recordSnapshot(Long runId, Item item, LocalDateTime capturedAt, PriceSketch sketch, long sum, long min,
+      long max) {
+    if (sketch.isEmpty()) {
+      return false;
+    }
+
+    priceSnapshotRepository.save(PriceSnapshot.builder()
+        .runId(runId)
+        .item(item)
+        .capturedAt(capturedAt)
+        .count((int) sketch.getCount())
+        .priceSum(sum)
+        .minPrice(min)
+        .maxPrice(max)
+        .medianPrice(sketch.quantile(0.5))
+        .build());
+
+    return replaceHour8(item, capturedAt, sketch, sum, min, max);
+  }
+
+  /**
+   * 일별 통계에 새로 병합된 ACTIVE 가격을 주/월 집계에도 병합합니다.
+   */
+  @Transactional
+  public void recordDaily(Item item, LocalDate date, long[] activePrices) {
+    if (activePrices.length == 0) {
+      return;
+    }
+
+    PriceSketch sketch = new PriceSketch();
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (long price : activePrices) {
+      sketch.update(price);
+      sum += price;
+      min = Math.min(min, price);
+      max = Math.max(max, price);
+    }
+    for (PriceRollup.Resolution resolution : DAILY_DERIVED) {
+      merge(item, resolution, date.atStartOfDay(), sketch, sum, min, max);
+    }
+  }
+
+  /**
+   * 날짜가 속한 주/월 집계를 일별 통계에서 다시 계산합니다. (일별 통계가 다시 계산된 뒤 호출)
+   * 구간에 일별 통계가 남아있지 않으면 집계를 삭제합니다.
+   */
+  @Transactional
+  public void rebuildFromDaily(Item item, LocalDate date) {
+    for (PriceRollup.Resolution resolution : DAILY_DERIVED) {
+      LocalDateTime bucketStart = resolution.bucketStart(date.atStartOfDay());
+      LocalDate lastDate = resolution.bucketEnd(bucketStart).toLocalDate().minusDays(1);
+
+      PriceRollup rollup = priceRollupRepository.findForUpdate(item, resolution, bucketStart).orElse(null);
+      List<ItemDailyStats> dailyStats =
+          itemDailyStatsRepository.findByItemAndDateBetween(item, bucketStart.toLocalDate(), lastDate);
+
+      if (dailyStats.isEmpty()) {
+        if (rollup != null) {
+          priceRollupRepository.delete(rollup);
+        }
+        continue;
+      }
+
+      PriceRollup rebuilt = aggregate(item, resolution, bucketStart, dailyStats);
+      if (rollup == null) {
+        rollup = rebuilt;
+      }
+      rollup.setCount(rebuilt.getCount());
+      rollup.setPriceSum(rebuilt.getPriceSum());
+      rollup.setMinPrice(rebuilt.getMinPrice());
+      rollup.setMaxPrice(rebuilt.getMaxPrice());
+      rollup.setPriceSketch(rebuilt.getPriceSketch());
+      priceRollupRepository.save(rollup);
+    }
+  }
+
+  /**
+   * 특정 아이템의 특정 단위 집계 조회 (최신순)
+   */
+  public List<PriceRollup> findHistory(Item item, PriceRollup.Resolution resolution, LocalDateTime from) {
+    return priceRollupRepository.findByItemAndResolutionAndBucketStartGreaterThanEqualOrderByBucketStartDesc(
+        item, resolution, resolution.bucketStart(from));
+  }
+
+  /**
+   * 집계 테이블이 비어있으면 기존 일별 통계로 주/월 집계를 채웁니다. (최초 도입 시)
+   * 8시간 집계는 수집 시각이 없는 과거 데이터로 만들 수 없으므로 이후 수집분부터 쌓입니다.
+   */
+  public void backfillIfEmpty() {
+    if (priceRollupRepository.count() > 0 || itemDailyStatsRepository.count() == 0) {
+      return;
+    }
+
+    log.info("Backfilling weekly/monthly price rollups from item_daily_stats...");
+    int rollupCount = 0;
+    for (Item item : itemRepository.findAll()) {
+      Integer saved = transactionTemplate.execute(status -> backfillItem(item));
+      rollupCount += saved == null ? 0 : saved;
+    }
+    log.info("Backfilled {} price rollups", rollupCount);
+  }
+
+  private int backfillItem(Item item) {
+    List<ItemDailyStats> dailyStats =
+        itemDailyStatsRepository.findByItemAndDateGreaterThanEqualOrderByDateDesc(item, LocalDate.EPOCH);
+    int saved = 0;
+
+    for (PriceRollup.Resolution resolution : DAILY_DERIVED) {
+      Map<LocalDateTime, List<ItemDailyStats>> byBucket = new LinkedHashMap<>();
+      for (ItemDailyStats stats : dailyStats) {
+        byBucket.computeIfAbsent(resolution.bucketStart(stats.getDate().atStartOfDay()), key -> new ArrayList<>())
+            .add(stats);
+      }
+      for (Map.Entry<LocalDateTime, List<ItemDailyStats>> entry : byBucket.entrySet()) {
+        priceRollupRepository.save(aggregate(item, resolution, entry.getKey(), entry.getValue()));
+        saved++;
+      }
+    }
+    return saved;
+  }
+
+  /**
+   * 보관 기간이 지난 수집 스냅샷과 8시간 집계를 삭제합니다. (보관 기간 0 이하면 사용 안 함)
+   */
+  @Scheduled(cron = "${rollup.purge-cron:0 45 4 * * *}")
+  @Transactional
+  public void purgeExpiredSnapshots() {
+    if (snapshotRetentionDays <= 0) {
+      return;
+    }
+
+    LocalDateTime cutoff = LocalDate.now().minusDays(snapshotRetentionDays).atStartOfDay();
+    int snapshots = priceSnapshotRepository.deleteByCapturedAtBefore(cutoff);
+    int rollups = priceRollupRepository.deleteByResolutionAndBucketStartBefore(PriceRollup.Resolution.HOUR_8, cutoff);
+    if (snapshots > 0 || rollups > 0) {
+      log.info("Purged {} price snapshots and {} 8-hour rollups before {}", snapshots, rollups, cutoff);
+    }
+  }
+
+  /**
+   * 수집 스냅샷으로 시각이 속한 8시간 집계를 덮어씁니다.
+   * 같은 판매 목록을 구간 안에서 여러 번 수집해도 건수가 누적되지 않도록, 구간의 값은 마지막 수집 시점의 판매 목록입니다.
+   * (일별 통계의 건수와 같은 의미) 값이 그대로면 저장하지 않습니다.
+   *
+   * @return 구간이 새로 생겼거나 값이 바뀌었는지
+   */
+  private boolean replaceHour8(Item item, LocalDateTime capturedAt, PriceSketch sketch, long sum, long min, long max) {
+    LocalDateTime bucketStart = PriceRollup.Resolution.HOUR_8.bucketStart(capturedAt);
+    PriceRollup rollup = priceRollupRepository.findForUpdate(item, PriceRollup.Resolution.HOUR_8, bucketStart)
+        .orElseGet(() -> PriceRollup.empty(item, PriceRollup.Resolution.HOUR_8, bucketStart));
+
+    int count = (int) sketch.getCount();
+    byte[] sketchBytes = sketch.toBytes();
+    if (rollup.getId() != null && rollup.getCount() == count && rollup.getPriceSum() == sum
+        && rollup.getMinPrice() == min && rollup.getMaxPrice() == max
+        && Arrays.equals(rollup.getPriceSketch(), sketchBytes)) {
+      return false;
+    }
+
+    rollup.setCount(count);
+    rollup.setPriceSum(sum);
+    rollup.setMinPrice(min);
+    rollup.setMaxPrice(max);
+    rollup.setPriceSketch(sketchBytes);
+    priceRollupRepository.save(rollup);
+    return true;
+  }
+
+  /**
+   * 가격 집계 값과 스케치를 시각이 속한 구간의 집계에 병합합니다.
+   */
+  private void merge(Item item, PriceRollup.Resolution resolution, LocalDateTime time, PriceSketch pricesSketch,
+      long sum, long min, long max) {
+    LocalDateTime bucketStart = resolution.bucketStart(time);
+    PriceRollup rollup = priceRollupRepository.findForUpdate(item, resolution, bucketStart)
+        .orElseGet(() -> PriceRollup.empty(item, resolution, bucketStart));
+
+    PriceSketch sketch = rollup.getPriceSketch() != null
+        ? PriceSketch.fromBytes(rollup.getPriceSketch())
+        : new PriceSketch();
+    sketch.merge(pricesSketch);
+
+    rollup.merge((int) pricesSketch.getCount(), sum, min, max);
+    rollup.setPriceSketch(sketch.toBytes());
+    priceRollupRepository.save(rollup);
+  }
+
+  /**
+   * 일별 통계 목록을 하나의 구간 집계로 합칩니다. (분위수 스케치 병합)
+   */
+  private static PriceRollup aggregate(Item item, PriceRollup.Resolution resolution, LocalDateTime bucketStart,
+      List<ItemDailyStats> dailyStats) {
+    PriceRollup rollup = PriceRollup.empty(item, resolution, bucketStart);
+    PriceSketch sketch = new PriceSketch();
+
+    for (ItemDailyStats stats : dailyStats) {
+      rollup.setCount(rollup.getCount() + stats.getCount());
+      rollup.setPriceSum(rollup.getPriceSum() + stats.getPriceSum());
+      rollup.setMinPrice(Math.min(rollup.getMinPrice(), stats.getMinPrice()));
+      rollup.setMaxPrice(Math.max(rollup.getMaxPrice(), stats.getMaxPrice()));
+      if (stats.getPriceSketch() != null) {
+        sketch.merge(PriceSketch.fromBytes(stats.getPriceSketch()));
+      }
+    }
+
+    rollup.setPriceSketch(sketch.toBytes());
+    return rollup;
+  }
+}
@@ -0,0 +1,294 @@
+package com.nangoso.pricetracker.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 가격 분위수 스케치 (KLL)
+ * 레벨마다 용량을 두고, 넘치면 정렬 후 하나 건너 하나씩 다음 레벨(가중치 2배)로 올려 크기를 일정하게 유지합니다.
+ * 값이 k개 이하인 동안은 모든 값을 그대로 보관하므로 분위수가 정확하며, 여러 스케치를 병합해 기간 단위 분위수를 구할 수 있습니다.
+ */
+public final class PriceSketch {
+
+  public static final int DEFAULT_K = 200;
+
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int FORMAT_VERSION = 1;
+
+  private final int k;
+  private long count;
+  private long[][] levels;
+  private int[] sizes;
+
+  // 압축 시 남길 위치 (짝수/홀수 번째를 번갈아 선택)
+  private boolean oddOffset;
+
+  public PriceSketch() {
+    this(DEFAULT_K);
+  }
+
+  public PriceSketch(int k) {
+    if (k < 8) {
+      throw new IllegalArgumentException("k must be at least 8: " + k);
+    }
+    this.k = k;
+    this.levels = new long[][]{new long[16]};
+    this.sizes = new int[1];
+  }
+
+  /**
+   * 값 하나를 추가합니다.
+   */
+  public void update(long value) {
+    append(0, value);
+    count++;
+    compress();
+  }
+
+  /**
+   * 다른 스케치를 병합합니다. (다른 스케치는 변경하지 않음)
+   */
+  public void merge(PriceSketch other) {
+    for (int h = 0; h < other.levels.length; h++) {
+      for (int i = 0; i < other.sizes[h]; i++) {
+        append(h, other.levels[h][i]);
+      }
+    }
+    count += other.count;
+    compress();
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * 분위수 조회 (nearest-rank: 누적 가중치가 ceil(q * n) 이상이 되는 첫 값)
+   */
+  public long quantile(double q) {
+    return quantiles(q)[0];
+  }
+
+  /**
+   * 여러 분위수를 한 번의 순회로 조회합니다.
+   *
+   * @param qs 0 이상 1 이하의 분위 (오름차순이 아니어도 됨)
+   */
+  public long[] quantiles(double... qs) {
+    if (count == 0) {
+      throw new IllegalStateException("Sketch is empty");
+    }
+
+    long[] targets = new long[qs.length];
+    for (int i = 0; i < qs.length; i++) {
+      if (qs[i] < 0 || qs[i] > 1) {
+        throw new IllegalArgumentException("Quantile must be between 0 and 1: " + qs[i]);
+      }
+      targets[i] = Math.max(1, (long) Math.ceil(qs[i] * count));
+    }
+
+    // 레벨별로 정렬한 뒤 가장 작은 값부터 차례로 꺼내며 누적 가중치 계산
+    long[][] sorted = new long[levels.length][];
+    int[] positions = new int[levels.length];
+    for (int h = 0; h < levels.length; h++) {
+      sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+      Arrays.sort(sorted[h]);
+    }
+
+    long[] result = new long[qs.length];
+    int remaining = qs.length;
+    boolean[] found = new boolean[qs.length];
+    long cumulative = 0;
+
+    while (remaining > 0) {
+      int minLevel = -1;
+      for (int h = 0; h < sorted.length; h++) {
+        if (positions[h] < sorted[h].length
+            && (minLevel < 0 || sorted[h][positions[h]] < sorted[minLevel][positions[minLevel]])) {
+          minLevel = h;
+        }
+      }
+      long value = sorted[minLevel][positions[minLevel]++];
+      cumulative += 1L << minLevel;
+
+      for (int i = 0; i < targets.length; i++) {
+        if (!found[i] && cumulative >= targets[i]) {
+          result[i] = value;
+          found[i] = true;
+          remaining--;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 직렬화된 스케치의 분위수 조회 (스케치가 없거나 비어있으면 null)
+   */
+  public static long[] quantilesOf(byte[] serialized, double... qs) {
+    if (serialized == null) {
+      return null;
+    }
+    PriceSketch sketch = fromBytes(serialized);
+    return sketch.isEmpty() ? null : sketch.quantiles(qs);
+  }
+
+  /**
+   * 직렬화 (레벨별로 정렬 후 첫 값은 zigzag, 이후는 차이값을 가변 길이 정수로 기록)
+   */
+  public byte[] toBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(16 + retained() * 3);
+    writeVarLong(out, FORMAT_VERSION);
+    writeVarLong(out, k);
+    writeVarLong(out, count);
+    writeVarLong(out, levels.length);
+
+    for (int h = 0; h < levels.length; h++) {
+      long[] values = Arrays.copyOf(levels[h], sizes[h]);
+      Arrays.sort(values);
+      writeVarLong(out, values.length);
+
+      long previous = 0;
+      for (int i = 0; i < values.length; i++) {
+        writeVarLong(out, i == 0 ? zigzag(values[i]) : values[i] - previous);
+        previous = values[i];
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * 역직렬화
+   */
+  public static PriceSketch fromBytes(byte[] bytes) {
+    int[] cursor = new int[1];
+    long version = readVarLong(bytes, cursor);
+    if (version != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported sketch format version: " + version);
+    }
+
+    PriceSketch sketch = new PriceSketch((int) readVarLong(bytes, cursor));
+    sketch.count = readVarLong(bytes, cursor);
+    int levelCount = (int) readVarLong(bytes, cursor);
+    sketch.levels = new long[levelCount][];
+    sketch.sizes = new int[levelCount];
+
+    for (int h = 0; h < levelCount; h++) {
+      int size = (int) readVarLong(bytes, cursor);
+      long[] values = new long[Math.max(size, 16)];
+      long previous = 0;
+      for (int i = 0; i < size; i++) {
+        long encoded = readVarLong(bytes, cursor);
+        values[i] = i == 0 ? unzigzag(encoded) : previous + encoded;
+        previous = values[i];
+      }
+      sketch.levels[h] = values;
+      sketch.sizes[h] = size;
+    }
+    return sketch;
+  }
+
+  private void append(int level, long value) {
+    if (level >= levels.length) {
+      levels = Arrays.copyOf(levels, level + 1);
+      sizes = Arrays.copyOf(sizes, level + 1);
+      for (int h = 0; h <= level; h++) {
+        if (levels[h] == null) {
+          levels[h] = new long[16];
+        }
+      }
+    }
+    if (sizes[level] == levels[level].length) {
+      levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+    }
+    levels[level][sizes[level]++] = value;
+  }
+
+  private void compress() {
+    while (retained() > totalCapacity()) {
+      compactOnce();
+    }
+  }
+
+  /**
+   * 용량을 넘은 가장 낮은 레벨을 정렬하고, 하나 건너 하나씩 다음 레벨로 올립니다.
+   * 홀수 개면 가장 작은 값 하나는 현재 레벨에 남겨 가중치 합을 보존합니다.
+   */
+  private void compactOnce() {
+    int level = 0;
+    while (sizes[level] < capacity(level)) {
+      level++;
+    }
+
+    int size = sizes[level];
+    long[] values = levels[level];
+    Arrays.sort(values, 0, size);
+
+    int start = size % 2;
+    int offset = oddOffset ? 1 : 0;
+    oddOffset = !oddOffset;
+
+    long[] promoted = new long[(size - start) / 2];
+    for (int i = start + offset, j = 0; i < size; i += 2, j++) {
+      promoted[j] = values[i];
+    }
+    sizes[level] = start;
+
+    for (long value : promoted) {
+      append(level + 1, value);
+    }
+  }
+
+  private int capacity(int level) {
+    int depth = levels.length - 1 - level;
+    return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private int totalCapacity() {
+    int total = 0;
+    for (int h = 0; h < levels.length; h++) {
+      total += capacity(h);
+    }
+    return total;
+  }
+
+  private int retained() {
+    int total = 0;
+    for (int size : sizes) {
+      total += size;
+    }
+    return total;
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(byte[] bytes, int[] cursor) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = bytes[cursor[0]++];
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
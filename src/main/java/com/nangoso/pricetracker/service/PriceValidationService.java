@@ -0,0 +1,221 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.entity.CollectionRun;
+import com.nangoso.pricetracker.entity.Item;
+import com.nangoso.pricetracker.entity.ItemPrice;
+import com.nangoso.pricetracker.event.ItemPricesChangedEvent;
+import com.nangoso.pricetracker.repository.ItemPriceRepository;
+import com.nangoso.pricetracker.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 기존 가격 데이터 이상치 검증 작업
+ * (아이템, 날짜) 파티션을 키셋 커서로 페이지 단위 조회하고, 각 파티션을 작업 스레드에서 병렬로 검증합니다.
+ * 이상치는 파티션마다 한 번의 UPDATE ... WHERE id IN (...)으로 비활성화하며, 진행률은 CollectionRun(VALIDATION)에 기록합니다.
+ */
+@Service
+@Slf4j
+public class PriceValidationService {
+
+  private static final int PARTITION_PAGE_SIZE = 200;
+  private static final LocalDateTime ALL_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final ItemPriceRepository itemPriceRepository;
+  private final ItemRepository itemRepository;
+  private final ItemDailyStatsService itemDailyStatsService;
+  private final CollectionRunService collectionRunService;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ExecutorService jobExecutor;
+  private final ExecutorService workerPool;
+
+  private Long runningJobId;
+
+  public PriceValidationService(ItemPriceRepository itemPriceRepository, ItemRepository itemRepository,
+      ItemDailyStatsService itemDailyStatsService, CollectionRunService collectionRunService,
+      TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+      @Value("${validation.parallelism:0}") int parallelism) {
+    this.itemPriceRepository = itemPriceRepository;
+    this.itemRepository = itemRepository;
+    this.itemDailyStatsService = itemDailyStatsService;
+    this.collectionRunService = collectionRunService;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+
+    int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.jobExecutor = Executors.newSingleThreadExecutor(threadFactory("validation-job"));
+    this.workerPool = Executors.newFixedThreadPool(workers, threadFactory("validator"));
+  }
+
+  /**
+   * 검증 작업을 백그라운드에서 시작합니다. 이미 실행 중인 작업이 있으면 그 작업을 반환합니다.
+   *
+   * @param changedOnly true면 마지막으로 완료된 검증 이후 데이터가 추가된 (아이템, 날짜)만 검증
+   * @return 작업 실행 기록 (id가 작업 ID)
+   */
+  public synchronized CollectionRun submit(boolean changedOnly) {
+    if (runningJobId != null) {
+      CollectionRun running = collectionRunService.findRun(runningJobId).orElse(null);
+      if (running != null) {
+        return running;
+      }
+    }
+
+    LocalDateTime since = changedOnly
+        ? collectionRunService.findLastCompletedRun(CollectionRun.RunType.VALIDATION)
+            .map(CollectionRun::getStartedAt)
+            .orElse(ALL_TIME)
+        : ALL_TIME;
+
+    CollectionRun run = collectionRunService.start(CollectionRun.RunType.VALIDATION);
+    runningJobId = run.getId();
+    jobExecutor.execute(() -> runJob(run.getId(), since));
+    return run;
+  }
+
+  /**
+   * 검증 작업 조회
+   */
+  public CollectionRun findJob(Long jobId) {
+    return collectionRunService.findRun(jobId)
+        .filter(run -> run.getType() == CollectionRun.RunType.VALIDATION)
+        .orElse(null);
+  }
+
+  private void runJob(Long runId, LocalDateTime since) {
+    try {
+      int totalPartitions = itemPriceRepository.countPartitionsByItem(since).stream()
+          .mapToInt(row -> ((Long) row[1]).intValue())
+          .sum();
+      collectionRunService.updateTotalItems(runId, totalPartitions);
+      log.info("Validation job {} started - {} item-dates (data since {})", runId, totalPartitions, since);
+
+      long lastItemId = 0L;
+      LocalDate lastDate = LocalDate.EPOCH;
+      int totalInactivated = 0;
+
+      while (true) {
+        List<Object[]> partitions = itemPriceRepository.findPartitionsAfter(
+            since, lastItemId, lastDate, PageRequest.of(0, PARTITION_PAGE_SIZE));
+        if (partitions.isEmpty()) {
+          break;
+        }
+
+        List<Future<Integer>> results = new ArrayList<>(partitions.size());
+        for (Object[] partition : partitions) {
+          Long itemId = (Long) partition[0];
+          LocalDate date = (LocalDate) partition[1];
+          results.add(workerPool.submit(() -> validatePartition(itemId, date)));
+        }
+
+        int pageInactivated = 0;
+        for (Future<Integer> result : results) {
+          pageInactivated += result.get();
+        }
+        collectionRunService.addProgress(runId, partitions.size(), pageInactivated);
+        totalInactivated += pageInactivated;
+
+        Object[] last = partitions.get(partitions.size() - 1);
+        lastItemId = (Long) last[0];
+        lastDate = (LocalDate) last[1];
+      }
+
+      collectionRunService.complete(runId);
+      log.info("Validation job {} completed - Processed: {} item-dates, Total inactivated: {}",
+          runId, totalPartitions, totalInactivated);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      collectionRunService.fail(runId);
+      log.warn("Validation job {} interrupted", runId);
+    } catch (ExecutionException | RuntimeException e) {
+      collectionRunService.fail(runId);
+      log.error("Validation job {} failed", runId, e);
+    } finally {
+      synchronized (this) {
+        runningJobId = null;
+      }
+    }
+  }
+
+  /**
+   * 한 (아이템, 날짜)의 모든 가격으로 IQR 경계를 계산하고, 벗어난 ACTIVE 가격을 일괄 비활성화합니다.
+   * 실패하면 예외를 그대로 던져 작업 전체를 실패로 기록합니다.
+   *
+   * @return 비활성화된 가격 수
+   */
+  private int validatePartition(Long itemId, LocalDate date) {
+    try {
+      List<Object[]> rows = itemPriceRepository.findValidationRows(itemId, date);
+      if (rows.size() < OutlierBounds.MIN_SAMPLE_SIZE) {
+        return 0;
+      }
+
+      long[] prices = new long[rows.size()];
+      for (int i = 0; i < prices.length; i++) {
+        prices[i] = (Long) rows.get(i)[1];
+      }
+      OutlierBounds bounds = OutlierBounds.of(prices);
+
+      List<Long> outlierIds = new ArrayList<>();
+      for (int i = 0; i < prices.length; i++) {
+        Object[] row = rows.get(i);
+        if (row[2] == ItemPrice.PriceStatus.ACTIVE && !bounds.contains(prices[i])) {
+          outlierIds.add((Long) row[0]);
+        }
+      }
+      if (outlierIds.isEmpty()) {
+        return 0;
+      }
+
+      // 상태 변경과 일별 통계 재계산을 같은 트랜잭션으로 커밋 (변경 이벤트는 커밋 후 처리됨)
+      Integer inactivated = transactionTemplate.execute(status -> {
+        int updated = itemPriceRepository.updateStatusByIds(
+            outlierIds, ItemPrice.PriceStatus.ACTIVE, ItemPrice.PriceStatus.INACTIVE);
+        Item item = itemRepository.getReferenceById(itemId);
+        itemDailyStatsService.rebuild(item, date);
+        eventPublisher.publishEvent(new ItemPricesChangedEvent(item.getItemCode()));
+        return updated;
+      });
+
+      log.info("Validated item {} on {} - {} outliers marked as INACTIVE", itemId, date, inactivated);
+      return inactivated == null ? 0 : inactivated;
+
+    } catch (RuntimeException e) {
+      // 작업을 실패로 끝내야 다음 변경분 검증(changedOnly)이 이 파티션을 건너뛰지 않음
+      log.error("Failed to validate prices for item {} on {}", itemId, date);
+      throw e;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    jobExecutor.shutdownNow();
+    workerPool.shutdownNow();
+  }
+
+  private static ThreadFactory threadFactory(String prefix) {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
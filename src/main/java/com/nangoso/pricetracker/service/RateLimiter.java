@@ -0,0 +1,49 @@
+package com.nangoso.pricetracker.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 공유하는 토큰 버킷 방식의 요청 속도 제한기
+ * 초당 허용 요청 수와 버스트 크기로 전체 요청 속도를 제한하고, 요청마다 무작위 지연(jitter)을 더합니다.
+ */
+public class RateLimiter {
+
+  private final long intervalNanos;
+  private final long burstToleranceNanos;
+  private final long jitterNanos;
+
+  // 다음 토큰이 채워지는 이론상 시각 (GCRA 방식의 토큰 버킷)
+  private long theoreticalArrival;
+
+  public RateLimiter(double permitsPerSecond, int burst, long jitterMillis) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    this.burstToleranceNanos = intervalNanos * Math.max(0, burst - 1);
+    this.jitterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, jitterMillis));
+    this.theoreticalArrival = System.nanoTime();
+  }
+
+  /**
+   * 토큰 하나를 예약하고, 사용 가능한 시각까지 대기합니다.
+   * 대기는 잠금 밖에서 수행되므로 다른 스레드의 예약을 막지 않습니다.
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos;
+    synchronized (this) {
+      long now = System.nanoTime();
+      long arrival = Math.max(theoreticalArrival, now);
+      waitNanos = Math.max(0, arrival - now - burstToleranceNanos);
+      theoreticalArrival = arrival + intervalNanos;
+    }
+
+    if (jitterNanos > 0) {
+      waitNanos += ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+    }
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+}
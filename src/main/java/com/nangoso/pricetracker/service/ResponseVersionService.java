@@ -0,0 +1,77 @@
+package com.nangoso.pricetracker.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * HTTP 응답 검증자(ETag/Last-Modified) 생성 서비스
+ * 화면 데이터의 메모리 버전(아이템별 가격 버전, 인기 아이템 스냅샷, 검색 인덱스)만으로 검증자를 만들어,
+ * 컨트롤러가 서비스/DB 조회 전에 304 응답 여부를 판단할 수 있게 합니다.
+ * 버전은 재시작하면 초기화되므로 시작 시각을 함께 넣어 이전 실행(이전 정적 리소스 버전)의 ETag와 겹치지 않게 합니다.
+ * 응답 압축(server.compression)이 적용되도록 약한(W/) ETag를 사용합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResponseVersionService {
+
+  private final ItemReadCache itemReadCache;
+  private final PopularItemService popularItemService;
+  private final ItemSearchIndex itemSearchIndex;
+  private final MarketAnalyticsService marketAnalyticsService;
+
+  private final long startedAt = System.currentTimeMillis();
+
+  /**
+   * 아이템 상세 페이지 검증자
+   * 가격이 바뀌거나 날짜가 바뀌면(오늘 시세) 달라집니다. 없는 아이템은 새 아이템이 등록되면 달라집니다.
+   */
+  public Validators forItem(String itemCode) {
+    if (!itemSearchIndex.contains(itemCode)) {
+      return new Validators(etag("m", itemCode, itemSearchIndex.size()), startedAt);
+    }
+
+    LocalDate today = LocalDate.now();
+    long startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    long lastModified = Math.max(Math.max(startedAt, startOfDay), itemReadCache.getChangedAt(itemCode));
+    return new Validators(etag("i", itemCode, itemReadCache.getVersion(itemCode), today.toEpochDay()), lastModified);
+  }
+
+  /**
+   * 메인 페이지 검증자 (수집 실행 완료, 조회수 순위 변경, 날짜 변경 시 인기 아이템/시장 스냅샷과 함께 달라짐)
+   */
+  public Validators forHome() {
+    long refreshedAt = popularItemService.getRefreshedAt();
+    return new Validators(etag("h", refreshedAt, marketAnalyticsService.getVersion()), Math.max(startedAt, refreshedAt));
+  }
+
+  /**
+   * 시장 개요 API 검증자 (새 시장 스냅샷이 저장되면 달라짐)
+   */
+  public Validators forMarket() {
+    return new Validators(etag("k", marketAnalyticsService.getVersion()), startedAt);
+  }
+
+  /**
+   * 아이템 검색 API 검증자 (검색 인덱스에 아이템이 추가되면 달라짐)
+   */
+  public Validators forSearch() {
+    return new Validators(etag("s", itemSearchIndex.size()), startedAt);
+  }
+
+  private String etag(String kind, Object... parts) {
+    StringBuilder etag = new StringBuilder("W/\"").append(kind).append('-').append(Long.toString(startedAt, 36));
+    for (Object part : parts) {
+      etag.append('-').append(part instanceof Number number ? Long.toString(number.longValue(), 36) : part);
+    }
+    return etag.append('"').toString();
+  }
+
+  /**
+   * @param etag         ETag 헤더 값
+   * @param lastModified Last-Modified 시각 (epoch millis)
+   */
+  public record Validators(String etag, long lastModified) {
+  }
+}
@@ -0,0 +1,74 @@
+package com.nangoso.pricetracker.service;
+
+/**
+ * 차트용 시계열 다운샘플링 (Largest-Triangle-Three-Buckets)
+ * 첫/마지막 점을 유지하고, 나머지 점을 같은 크기의 구간으로 나눠 구간마다 이전 선택 점, 다음 구간 평균 점과
+ * 만드는 삼각형 넓이가 가장 큰 점 하나를 고릅니다. 급등/급락 같은 모양을 유지하면서 점 수를 줄입니다.
+ */
+public final class SeriesDownsampler {
+
+  private SeriesDownsampler() {
+  }
+
+  /**
+   * 남길 점의 인덱스를 오름차순으로 반환합니다.
+   *
+   * @param x         x 좌표 (오름차순)
+   * @param y         y 좌표
+   * @param maxPoints 최대 점 수 (3 미만이거나 점 수 이상이면 전체 유지)
+   */
+  public static int[] lttb(double[] x, double[] y, int maxPoints) {
+    int length = x.length;
+    if (maxPoints < 3 || maxPoints >= length) {
+      int[] all = new int[length];
+      for (int i = 0; i < length; i++) {
+        all[i] = i;
+      }
+      return all;
+    }
+
+    int[] selected = new int[maxPoints];
+    // 첫/마지막 점을 제외한 점들을 (maxPoints - 2)개 구간으로 나눔
+    double bucketSize = (double) (length - 2) / (maxPoints - 2);
+    int previous = 0;
+    selected[0] = 0;
+
+    for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+      int start = (int) Math.floor(bucket * bucketSize) + 1;
+      int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+      // 다음 구간의 평균 점 (마지막 구간은 마지막 점)
+      int nextStart = end;
+      int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+      if (bucket == maxPoints - 3) {
+        nextStart = length - 1;
+        nextEnd = length;
+      }
+      double avgX = 0;
+      double avgY = 0;
+      for (int i = nextStart; i < nextEnd; i++) {
+        avgX += x[i];
+        avgY += y[i];
+      }
+      avgX /= nextEnd - nextStart;
+      avgY /= nextEnd - nextStart;
+
+      int best = start;
+      double bestArea = -1;
+      for (int i = start; i < end; i++) {
+        double area = Math.abs((x[previous] - avgX) * (y[i] - y[previous])
+            - (x[previous] - x[i]) * (avgY - y[previous]));
+        if (area > bestArea) {
+          bestArea = area;
+          best = i;
+        }
+      }
+
+      selected[bucket + 1] = best;
+      previous = best;
+    }
+
+    selected[maxPoints - 1] = length - 1;
+    return selected;
+  }
+}
@@ -0,0 +1,20 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.dto.PriceAlertNotification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가격 알림을 아이템 시세 SSE 구독자에게 "alert" 이벤트로 전송
+ */
+@Component
+@RequiredArgsConstructor
+public class SsePriceAlertSink implements PriceAlertSink {
+
+  private final ItemPriceStreamService itemPriceStreamService;
+
+  @Override
+  public void send(AlertRuleIndex.Rule rule, PriceAlertNotification notification) {
+    itemPriceStreamService.publish(notification.getItemCode(), "alert", notification);
+  }
+}
@@ -0,0 +1,100 @@
+package com.nangoso.pricetracker.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.nangoso.pricetracker.dto.PriceData;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래 API(/trade) 응답을 스트리밍 방식으로 파싱합니다.
+ * 응답 전체를 문자열이나 거래 객체 배열로 만들지 않고, 판매 중인 거래만 PriceData로 변환합니다.
+ */
+public class TradeResponseParser {
+
+  private final JsonFactory jsonFactory;
+
+  public TradeResponseParser(JsonFactory jsonFactory) {
+    this.jsonFactory = jsonFactory;
+  }
+
+  /**
+   * tradeType이 "sell"이고 tradeStatus가 true인 거래만 추출합니다.
+   * 구매 거래나 비활성 거래로 판별된 항목은 나머지 필드를 값으로 만들지 않고 건너뜁니다.
+   */
+  public List<PriceData> parseSellListings(InputStream inputStream) throws IOException {
+    List<PriceData> priceDataList = new ArrayList<>();
+
+    try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        return priceDataList;
+      }
+
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        String tradeType = null;
+        boolean tradeStatus = false;
+        Long price = null;
+        String url = null;
+        String comment = null;
+        boolean skip = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.currentName();
+          JsonToken value = parser.nextToken();
+
+          if (skip) {
+            parser.skipChildren();
+            continue;
+          }
+
+          switch (field) {
+            case "tradeType" -> {
+              tradeType = parser.getValueAsString();
+              skip = !"sell".equalsIgnoreCase(tradeType);
+            }
+            case "tradeStatus" -> {
+              tradeStatus = value == JsonToken.VALUE_TRUE;
+              skip = !tradeStatus;
+            }
+            case "itemPrice" -> price = value == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+            case "url" -> url = parser.getValueAsString();
+            case "comment" -> comment = parser.getValueAsString();
+            default -> parser.skipChildren();
+          }
+        }
+
+        if (!skip && tradeType != null && tradeStatus && price != null) {
+          priceDataList.add(new PriceData(price, url, comment, null));
+        }
+      }
+    }
+
+    return priceDataList;
+  }
+
+  /**
+   * 첫 번째 거래 항목의 아이템 이름을 읽습니다. 나머지 응답은 읽지 않습니다.
+   *
+   * @return 아이템 이름 (거래가 없으면 null)
+   */
+  public String parseFirstItemName(InputStream inputStream) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY || parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        parser.nextToken();
+        if ("itemName".equals(field)) {
+          return parser.getValueAsString();
+        }
+        parser.skipChildren();
+      }
+    }
+    return null;
+  }
+}
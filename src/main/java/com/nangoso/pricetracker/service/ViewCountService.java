@@ -0,0 +1,108 @@
+package com.nangoso.pricetracker.service;
+
+import com.nangoso.pricetracker.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 아이템 조회수 집계 서비스 (write-behind)
+ * 조회수는 메모리의 LongAdder에 누적하고, 주기적으로 모아서 items 테이블에 일괄 반영합니다.
+ * 조회수 순위도 메모리 값으로 계산하므로 상세 페이지 조회 시 DB 쓰기가 발생하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountService {
+
+  private static final String FLUSH_SQL = "UPDATE items SET view_count = view_count + ? WHERE item_code = ?";
+
+  private final ItemRepository itemRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  // 아직 DB에 반영되지 않은 조회수
+  private final Map<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+  // 전체 조회수 (DB 값 + 미반영 값)
+  private final Map<String, LongAdder> totalCounts = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void loadViewCounts() {
+    for (Object[] row : itemRepository.findAllViewCounts()) {
+      LongAdder total = new LongAdder();
+      total.add((Long) row[1]);
+      totalCounts.put((String) row[0], total);
+    }
+    log.info("Loaded view counts for {} items", totalCounts.size());
+  }
+
+  /**
+   * 조회수 1 증가 (메모리에만 기록)
+   */
+  public void increment(String itemCode) {
+    pendingCounts.computeIfAbsent(itemCode, code -> new LongAdder()).increment();
+    totalCounts.computeIfAbsent(itemCode, code -> new LongAdder()).increment();
+  }
+
+  /**
+   * 조회수 기준 상위 아이템 코드 (조회수 0인 아이템 제외)
+   */
+  public List<String> findTopItemCodes(int limit) {
+    return totalCounts.entrySet().stream()
+        .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+        .filter(entry -> entry.getValue() > 0)
+        .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()))
+        .limit(limit)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 아이템의 현재 조회수 (미반영 값 포함)
+   */
+  public long getViewCount(String itemCode) {
+    LongAdder total = totalCounts.get(itemCode);
+    return total != null ? total.sum() : 0L;
+  }
+
+  /**
+   * 미반영 조회수를 배치 UPDATE로 DB에 반영합니다.
+   */
+  @Scheduled(fixedDelayString = "${view-count.flush-interval-ms:30000}")
+  @PreDestroy
+  public synchronized void flush() {
+    List<Object[]> batchArgs = new ArrayList<>();
+    for (Map.Entry<String, LongAdder> entry : pendingCounts.entrySet()) {
+      long delta = entry.getValue().sumThenReset();
+      if (delta > 0) {
+        batchArgs.add(new Object[]{delta, entry.getKey()});
+      }
+    }
+
+    if (batchArgs.isEmpty()) {
+      return;
+    }
+
+    try {
+      jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+      log.debug("Flushed view counts for {} items", batchArgs.size());
+    } catch (Exception e) {
+      // 실패한 값은 다음 반영 때 다시 시도
+      for (Object[] args : batchArgs) {
+        pendingCounts.computeIfAbsent((String) args[1], code -> new LongAdder()).add((Long) args[0]);
+      }
+      log.error("Failed to flush view counts for {} items", batchArgs.size(), e);
+    }
+  }
+}
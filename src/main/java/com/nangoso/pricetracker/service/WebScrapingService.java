@@ -3,9 +3,9 @@ package com.nangoso.pricetracker.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nangoso.pricetracker.dto.ItemInfo;
 import com.nangoso.pricetracker.dto.PriceData;
-import com.nangoso.pricetracker.dto.TradeItem;
-import java.time.Duration;
-import java.util.ArrayList;
+import com.nangoso.pricetracker.dto.TradeFetchResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
@@ -19,12 +19,13 @@ public class WebScrapingService {
 
   private static final String API_BASE_URL = "https://api.mapleland.gg/trade?itemCode=";
   private static final String IMAGE_BASE_URL = "https://maplestory.io/api/gms/200/item/";
-  private static final int TIMEOUT_SECONDS = 10;
 
-  private final ObjectMapper objectMapper;
+  private final OkHttpClient httpClient;
+  private final TradeResponseParser tradeResponseParser;
 
-  public WebScrapingService() {
-    this.objectMapper = new ObjectMapper();
+  public WebScrapingService(OkHttpClient httpClient) {
+    this.httpClient = httpClient;
+    this.tradeResponseParser = new TradeResponseParser(new ObjectMapper().getFactory());
   }
 
   /**
@@ -34,28 +35,9 @@ public class WebScrapingService {
     String apiUrl = API_BASE_URL + itemCode;
     log.info("Fetching item info from API (OkHttp): {}", apiUrl);
 
-    OkHttpClient client = new OkHttpClient.Builder()
-        .connectTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-        .readTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-        .build();
+    Request request = buildTradeRequest(apiUrl);
 
-    Request request = new Request.Builder()
-        .url(apiUrl)
-        .get()
-        .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/123.0 Safari/537.36")
-        .header("Accept", "application/json, text/plain, */*")
-        .header("Accept-Language", "ko-KR,ko;q=0.9,en;q=0.8")
-        .header("Cache-Control", "no-cache")
-        .header("Pragma", "no-cache")
-        .header("Connection", "keep-alive")
-        .header("Origin", "https://mapleland.gg")
-        .header("Referer", "https://mapleland.gg/")
-        .header("Sec-Fetch-Site", "same-origin")
-        .header("Sec-Fetch-Mode", "cors")
-        .header("Sec-Fetch-Dest", "empty")
-        .build();
-
-    try (Response response = client.newCall(request).execute()) {
+    try (Response response = httpClient.newCall(request).execute()) {
 
       if (!response.isSuccessful()) {
         log.warn("Failed to fetch item info for code: {} - Status: {}",
@@ -63,19 +45,14 @@ public class WebScrapingService {
         return null;
       }
 
-      String body = response.body().string();
-
-      // JSON 파싱
-      TradeItem[] tradeItems = objectMapper.readValue(body, TradeItem[].class);
+      // 첫 번째 거래 항목의 이름만 스트리밍으로 읽음
+      String itemName = tradeResponseParser.parseFirstItemName(response.body().byteStream());
 
-      if (tradeItems == null || tradeItems.length == 0) {
+      if (itemName == null) {
         log.warn("No trade items found for code: {}", itemCode);
         return null;
       }
 
-      TradeItem firstItem = tradeItems[0];
-      String itemName = firstItem.getItemName();
-
       // 이미지 URL 생성
       String imageUrl = IMAGE_BASE_URL + itemCode + "/icon?resize=2";
 
@@ -94,19 +71,52 @@ public class WebScrapingService {
 
   /**
    * 판매 가격과 URL을 함께 가져옵니다 (tradeType이 "sell"인 것만)
+   * 이전 응답의 검증자를 주면 조건부 요청(If-None-Match/If-Modified-Since)을 보내고, 304면 본문을 읽지 않습니다.
+   *
+   * @param etag         이전 응답의 ETag (없으면 null)
+   * @param lastModified 이전 응답의 Last-Modified (없으면 null)
    */
-  public List<PriceData> fetchSellingPricesWithUrl(String itemCode) {
+  public TradeFetchResult fetchSellListings(String itemCode, String etag, String lastModified) {
     String apiUrl = API_BASE_URL + itemCode;
     log.info("Fetching selling prices with URL from API (OkHttp): {}", apiUrl);
 
-    List<PriceData> priceDataList = new ArrayList<>();
+    Request.Builder requestBuilder = buildTradeRequest(apiUrl).newBuilder();
+    if (etag != null) {
+      requestBuilder.header("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      requestBuilder.header("If-Modified-Since", lastModified);
+    }
 
-    OkHttpClient client = new OkHttpClient.Builder()
-        .connectTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-        .readTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-        .build();
+    try (Response response = httpClient.newCall(requestBuilder.build()).execute()) {
 
-    Request request = new Request.Builder()
+      if (response.code() == 304) {
+        log.debug("Selling prices not modified for item code: {}", itemCode);
+        return TradeFetchResult.notModified(etag, lastModified);
+      }
+
+      // 실패 응답을 빈 목록으로 바꾸면 변경 감지 상태가 덮어써지므로 예외로 처리 (수집 엔진이 실패로 집계)
+      if (!response.isSuccessful()) {
+        throw new IllegalStateException("Failed to fetch prices for code: " + itemCode + " - Status: " + response.code());
+      }
+
+      // "sell"인 거래만 스트리밍으로 수집
+      List<PriceData> priceDataList = tradeResponseParser.parseSellListings(response.body().byteStream());
+
+      log.info("Fetched {} selling prices with URL for item code: {}",
+          priceDataList.size(), itemCode);
+      return new TradeFetchResult(false, priceDataList, response.header("ETag"), response.header("Last-Modified"));
+
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to fetch selling prices for code: " + itemCode, e);
+    }
+  }
+
+  /**
+   * 거래 API 요청을 생성합니다. 연결 유지는 공유 클라이언트의 연결 풀이 담당합니다.
+   */
+  private Request buildTradeRequest(String apiUrl) {
+    return new Request.Builder()
         .url(apiUrl)
         .get()
         .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/123.0 Safari/537.36")
@@ -114,49 +124,12 @@ public class WebScrapingService {
         .header("Accept-Language", "ko-KR,ko;q=0.9,en;q=0.8")
         .header("Cache-Control", "no-cache")
         .header("Pragma", "no-cache")
-        .header("Connection", "keep-alive")
         .header("Origin", "https://mapleland.gg")
         .header("Referer", "https://mapleland.gg/")
         .header("Sec-Fetch-Site", "same-origin")
         .header("Sec-Fetch-Mode", "cors")
         .header("Sec-Fetch-Dest", "empty")
         .build();
-
-    try (Response response = client.newCall(request).execute()) {
-
-      if (!response.isSuccessful()) {
-        log.warn("Failed to fetch prices for code: {} - Status: {}",
-            itemCode, response.code());
-        return priceDataList;
-      }
-
-      String body = response.body().string();
-
-      // JSON 파싱
-      TradeItem[] tradeItems = objectMapper.readValue(body, TradeItem[].class);
-
-      if (tradeItems == null || tradeItems.length == 0) {
-        log.warn("No trade items found for code: {}", itemCode);
-        return priceDataList;
-      }
-
-      // "sell"인 거래만 수집
-      for (TradeItem item : tradeItems) {
-        if ("sell".equalsIgnoreCase(item.getTradeType()) && item.isTradeStatus()) {
-          priceDataList.add(
-              new PriceData(item.getItemPrice(), item.getUrl(), item.getComment(), null)
-          );
-        }
-      }
-
-      log.info("Fetched {} selling prices with URL for item code: {}",
-          priceDataList.size(), itemCode);
-
-    } catch (Exception e) {
-      log.error("Failed to fetch selling prices for code: {}", itemCode, e);
-    }
-
-    return priceDataList;
   }
 
 }
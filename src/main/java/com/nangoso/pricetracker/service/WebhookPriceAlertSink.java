@@ -0,0 +1,149 @@
+package com.nangoso.pricetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nangoso.pricetracker.dto.PriceAlertNotification;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가격 알림 웹훅 전송
+ * 웹훅 주소가 있는 규칙만 JSON으로 POST 합니다. 비동기로 전송하며 실패는 로그만 남깁니다.
+ * 누구나 등록할 수 있는 주소로 요청을 보내므로 https 공개 주소만 허용하고, 접속 시 DNS 조회 결과도 공개 주소로 제한합니다.
+ * (내부망/루프백/링크 로컬/클라우드 메타데이터 주소 차단, 리다이렉트 따라가지 않음)
+ * 공유 OkHttpClient의 커넥션 풀은 함께 쓰되 이벤트 리스너는 빼서 mapleland.gg 요청 지표에 섞이지 않게 합니다.
+ */
+@Component
+@Slf4j
+public class WebhookPriceAlertSink implements PriceAlertSink {
+
+  private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+  private static final Pattern IPV4_LITERAL = Pattern.compile("^\\d{1,3}(\\.\\d{1,3}){3}$");
+
+  private final OkHttpClient webhookClient;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+
+  public WebhookPriceAlertSink(OkHttpClient okHttpClient, ObjectMapper objectMapper,
+      @Value("${alert.webhook.enabled:false}") boolean enabled) {
+    this.webhookClient = okHttpClient.newBuilder()
+        .eventListener(EventListener.NONE)
+        .followRedirects(false)
+        .followSslRedirects(false)
+        .dns(WebhookPriceAlertSink::lookupPublic)
+        .build();
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+  }
+
+  /**
+   * 웹훅으로 보낼 수 있는 주소인지 확인합니다. (https, 로컬 호스트 이름이나 공개되지 않은 IP 주소가 아님)
+   * 호스트 이름의 실제 주소는 전송할 때 DNS 조회 결과로 다시 확인합니다.
+   */
+  static boolean isAllowedUrl(HttpUrl url) {
+    if (!url.isHttps()) {
+      return false;
+    }
+    String host = url.host().toLowerCase(Locale.ROOT);
+    if (host.equals("localhost") || host.endsWith(".localhost") || host.endsWith(".local")
+        || host.endsWith(".internal")) {
+      return false;
+    }
+    if (IPV4_LITERAL.matcher(host).matches() || host.contains(":")) {
+      try {
+        // IP 주소 문자열은 DNS 조회 없이 변환됨
+        return isPublicAddress(InetAddress.getByName(host));
+      } catch (UnknownHostException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 공개 주소인지 확인합니다. (루프백, 사설망, 링크 로컬(메타데이터 169.254.169.254 포함), CGNAT, IPv6 ULA, 멀티캐스트 제외)
+   */
+  static boolean isPublicAddress(InetAddress address) {
+    if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+        || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+      return false;
+    }
+    byte[] bytes = address.getAddress();
+    if (bytes.length == 4) {
+      int first = bytes[0] & 0xFF;
+      int second = bytes[1] & 0xFF;
+      // 0.0.0.0/8, 100.64.0.0/10
+      return first != 0 && !(first == 100 && second >= 64 && second < 128);
+    }
+    // fc00::/7
+    return (bytes[0] & 0xFE) != 0xFC;
+  }
+
+  @Override
+  public void send(AlertRuleIndex.Rule rule, PriceAlertNotification notification) {
+    if (!enabled || rule.webhookUrl() == null) {
+      return;
+    }
+    HttpUrl url = HttpUrl.parse(rule.webhookUrl());
+    if (url == null || !isAllowedUrl(url)) {
+      log.warn("Price alert webhook skipped - rule {} has a disallowed address", rule.id());
+      return;
+    }
+
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(notification);
+    } catch (JsonProcessingException e) {
+      log.error("Failed to serialize price alert {}", notification.getRuleId(), e);
+      return;
+    }
+
+    Request request = new Request.Builder()
+        .url(url)
+        .post(RequestBody.create(body, JSON))
+        .build();
+    webhookClient.newCall(request).enqueue(new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        log.warn("Price alert webhook failed - rule {}: {}", rule.id(), e.getMessage());
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        try (response) {
+          if (!response.isSuccessful()) {
+            log.warn("Price alert webhook returned {} - rule {}", response.code(), rule.id());
+          }
+        }
+      }
+    });
+  }
+
+  private static List<InetAddress> lookupPublic(String hostname) throws UnknownHostException {
+    List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname).stream()
+        .filter(WebhookPriceAlertSink::isPublicAddress)
+        .collect(Collectors.toList());
+    if (addresses.isEmpty()) {
+      throw new UnknownHostException("No public address for webhook host " + hostname);
+    }
+    return addresses;
+  }
+}
@@ -1,22 +1,25 @@
 /**
  * 가격 추이 차트 렌더링
  * Chart.js를 사용하여 아이템의 가격 변동을 시각화합니다.
+ * 데이터는 /api/items/{itemCode}/history에서 서버가 다운샘플링한 컬럼 형식으로 가져옵니다.
  */
 
 let priceChart = null;
 
+// 차트에 표시할 최대 점 수 (서버에서 모양을 유지하며 줄임)
+const CHART_MAX_POINTS = 120;
+
 // 페이지 로드 시 초기 차트 렌더링
 document.addEventListener('DOMContentLoaded', function() {
-    if (typeof priceHistoryData !== 'undefined' && priceHistoryData.length > 0) {
-        renderChart(priceHistoryData);
-    }
+    const activeTab = document.querySelector('.period-tab.active');
+    loadPriceHistory(activeTab ? parseInt(activeTab.dataset.range) : 30);
 
     // 기간 탭 이벤트 리스너 등록
     setupPeriodTabs();
 });
 
 // 차트 렌더링 함수
-function renderChart(priceHistory) {
+function renderChart(series) {
     const ctx = document.getElementById('priceChart');
     if (!ctx) {
         console.error('차트 캔버스를 찾을 수 없습니다.');
@@ -28,14 +31,12 @@ function renderChart(priceHistory) {
         priceChart.destroy();
     }
 
-    // 데이터를 과거순으로 정렬 (과거가 왼쪽, 현재가 오른쪽)
-    const reversedHistory = [...priceHistory].reverse();
-
-    // 데이터 추출
-    const labels = reversedHistory.map(p => formatDate(p.date));
-    const avgPrices = reversedHistory.map(p => p.avgPrice);
-    const minPrices = reversedHistory.map(p => p.minPrice);
-    const maxPrices = reversedHistory.map(p => p.maxPrice);
+    // 시각 오름차순 배열 (과거가 왼쪽, 현재가 오른쪽), 8시간 단위는 시각까지 표시
+    const labels = series.timestamps.map(timestamp =>
+        series.resolution === 'HOUR_8' ? formatDateTime(timestamp) : formatDate(timestamp));
+    const avgPrices = series.avgPrices;
+    const minPrices = series.minPrices;
+    const maxPrices = series.maxPrices;
 
     // 차트 생성
     priceChart = new Chart(ctx, {
@@ -152,17 +153,16 @@ function setupPeriodTabs() {
             tabs.forEach(t => t.classList.remove('active'));
             this.classList.add('active');
 
-            // 선택된 기간으로 데이터 필터링
+            // 선택된 기간의 데이터 조회
             const days = parseInt(this.dataset.range);
-            filterPriceHistoryByDays(days);
+            loadPriceHistory(days);
         });
     });
 }
 
-// 기간별 가격 히스토리 필터링
-function filterPriceHistoryByDays(days) {
-    if (typeof priceHistoryData === 'undefined' || priceHistoryData.length === 0) {
-        console.warn('가격 데이터가 없습니다.');
+// 기간별 가격 히스토리 조회
+async function loadPriceHistory(days) {
+    if (typeof itemCode === 'undefined' || !itemCode) {
         return;
     }
 
@@ -172,20 +172,27 @@ function filterPriceHistoryByDays(days) {
         chartContainer.style.opacity = '0.5';
     }
 
-    // 최근 N일 데이터만 필터링 (데이터가 부족하면 있는 만큼만 표시)
-    const filteredData = priceHistoryData.slice(0, Math.min(days, priceHistoryData.length));
-
-    // 차트 업데이트
-    if (filteredData.length > 0) {
-        renderChart(filteredData);
-        console.log(`${filteredData.length}일치 데이터 표시 (요청: ${days}일)`);
-    } else {
-        console.warn('표시할 가격 데이터가 없습니다.');
-    }
-
-    // 로딩 해제
-    if (chartContainer) {
-        chartContainer.style.opacity = '1';
+    try {
+        const response = await fetch(`/api/items/${encodeURIComponent(itemCode)}/history?days=${days}&maxPoints=${CHART_MAX_POINTS}`);
+        if (!response.ok) {
+            throw new Error(`HTTP ${response.status}`);
+        }
+        const series = await response.json();
+
+        // 차트 업데이트
+        if (series.timestamps.length > 0) {
+            renderChart(series);
+            console.log(`${series.timestamps.length}/${series.totalPoints}개 데이터 표시 (요청: ${days}일, 단위: ${series.resolution})`);
+        } else {
+            console.warn('표시할 가격 데이터가 없습니다.');
+        }
+    } catch (error) {
+        console.error('가격 히스토리 조회 실패:', error);
+    } finally {
+        // 로딩 해제
+        if (chartContainer) {
+            chartContainer.style.opacity = '1';
+        }
     }
 }
 
@@ -212,6 +219,15 @@ function formatDate(dateString) {
     return `${month}/${day}`;
 }
 
+// 시각 포맷팅 (YYYY-MM-DDTHH:mm:ss -> MM/DD HH시)
+function formatDateTime(dateTimeString) {
+    const date = new Date(dateTimeString);
+    if (isNaN(date.getTime())) {
+        return formatDate(dateTimeString);
+    }
+    return `${formatDate(dateTimeString)} ${String(date.getHours()).padStart(2, '0')}시`;
+}
+
 // 가격 포맷팅 (천 단위 구분)
 function formatPrice(price) {
     if (price == null) return '0';
@@ -0,0 +1,37 @@
+/**
+ * 실시간 시세 반영
+ * 수집으로 아이템 가격이 바뀌면 서버가 SSE로 오늘 시세를 보내고, 새로고침 없이 가격과 차트를 갱신합니다.
+ */
+
+document.addEventListener('DOMContentLoaded', function() {
+    if (typeof itemCode === 'undefined' || !itemCode || typeof EventSource === 'undefined') {
+        return;
+    }
+
+    // 연결이 끊기면 브라우저가 자동으로 다시 연결
+    const source = new EventSource(`/api/items/${encodeURIComponent(itemCode)}/stream`);
+
+    source.addEventListener('price', function(event) {
+        const todayPrice = JSON.parse(event.data);
+
+        // 오늘 시세 값 갱신
+        document.querySelectorAll('[data-price-field]').forEach(element => {
+            const value = todayPrice[element.dataset.priceField];
+            if (value != null) {
+                element.textContent = value.toLocaleString('ko-KR');
+            }
+        });
+
+        // 차트는 선택된 기간으로 다시 조회
+        if (typeof loadPriceHistory === 'function') {
+            const activeTab = document.querySelector('.period-tab.active');
+            loadPriceHistory(activeTab ? parseInt(activeTab.dataset.range) : 30);
+        }
+    });
+
+    // 가격 알림 (알림 규칙이 있는 아이템의 기준선 돌파)
+    source.addEventListener('alert', function(event) {
+        const notification = JSON.parse(event.data);
+        console.info(`가격 알림: ${notification.itemName} ${notification.type} ${notification.threshold} (평균가 ${formatPrice(notification.avgPrice)})`);
+    });
+});
@@ -1,37 +1,14 @@
 /**
  * 검색 자동완성 기능
  * 사용자가 입력한 검색어에 따라 실시간으로 아이템 목록을 보여줍니다.
- * JSON 파일을 미리 로드하여 클라이언트 측에서 자동완성을 처리합니다.
+ * 서버 검색 API(/api/search)를 호출하며, 초성 검색(예: ㅁㅅㅌ)도 지원합니다.
  */
 
 let debounceTimer;
-let itemsData = []; // 아이템 목록 캐시
+let searchController = null; // 진행 중인 검색 요청 (새 입력 시 취소)
 const searchInput = document.getElementById('searchInput');
 const autocompleteDiv = document.getElementById('autocomplete');
 
-// 페이지 로드 시 아이템 목록 로드
-document.addEventListener('DOMContentLoaded', function() {
-    loadItemsData();
-});
-
-// JSON 파일에서 아이템 목록 로드
-function loadItemsData() {
-    fetch('/files/items.json')
-        .then(response => {
-            if (!response.ok) {
-                throw new Error('아이템 데이터 로드 실패');
-            }
-            return response.json();
-        })
-        .then(items => {
-            itemsData = items;
-            console.log(`아이템 ${items.length}개 로드 완료`);
-        })
-        .catch(error => {
-            console.error('아이템 데이터 로드 중 오류:', error);
-        });
-}
-
 // 입력 이벤트 리스너
 searchInput.addEventListener('input', function() {
     const query = this.value.trim();
@@ -51,20 +28,29 @@ searchInput.addEventListener('input', function() {
     }, 300);
 });
 
-// 클라이언트 측에서 검색 수행
+// 서버 검색 API 호출
 function searchItems(query) {
-    if (itemsData.length === 0) {
-        showError('아이템 데이터를 로드 중입니다...');
-        return;
+    // 이전 요청이 아직 진행 중이면 취소
+    if (searchController) {
+        searchController.abort();
     }
+    searchController = new AbortController();
 
-    // 검색어가 포함된 아이템 찾기 (대소문자 구분 없음)
-    const lowerQuery = query.toLowerCase();
-    const results = itemsData
-        .filter(item => item.name.toLowerCase().includes(lowerQuery))
-        .slice(0, 10); // 최대 10개만 표시
-
-    displaySuggestions(results);
+    fetch(`/api/search?q=${encodeURIComponent(query)}&limit=10`, { signal: searchController.signal })
+        .then(response => {
+            if (!response.ok) {
+                throw new Error('검색 실패');
+            }
+            return response.json();
+        })
+        .then(results => displaySuggestions(results))
+        .catch(error => {
+            if (error.name === 'AbortError') {
+                return;
+            }
+            console.error('검색 중 오류:', error);
+            showError('검색 중 오류가 발생했습니다');
+        });
 }
 
 // 자동완성 결과 표시
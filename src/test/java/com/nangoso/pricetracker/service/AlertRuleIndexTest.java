@@ -0,0 +1,78 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nangoso.pricetracker.entity.PriceAlertRule.AlertType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class AlertRuleIndexTest {
+
+    private static final String ITEM = "2000000";
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 19);
+
+    @Test
+    public void firesOnlyRulesCrossedByNewPrice() {
+        AlertRuleIndex index = new AlertRuleIndex();
+        index.add(new AlertRuleIndex.Rule(1L, ITEM, AlertType.PRICE_BELOW, 900, null));
+        index.add(new AlertRuleIndex.Rule(2L, ITEM, AlertType.PRICE_BELOW, 800, null));
+        index.add(new AlertRuleIndex.Rule(3L, ITEM, AlertType.PRICE_BELOW, 500, null));
+        index.add(new AlertRuleIndex.Rule(4L, ITEM, AlertType.PRICE_ABOVE, 1200, null));
+        index.observe(ITEM, DAY, 1000, null);
+
+        assertEquals(List.of(1L, 2L), ids(index.evaluate(ITEM, DAY, 700, null)));
+        // 이미 넘어간 기준선은 다시 알리지 않음
+        assertTrue(index.evaluate(ITEM, DAY, 650, null).isEmpty());
+        // 돌아왔다가 다시 넘으면 알림
+        assertEquals(List.of(4L), ids(index.evaluate(ITEM, DAY, 1300, null)));
+        assertEquals(List.of(1L, 2L), ids(index.evaluate(ITEM, DAY, 750, null)));
+    }
+
+    @Test
+    public void firesSatisfiedRulesWithoutPreviousObservation() {
+        AlertRuleIndex index = new AlertRuleIndex();
+        index.add(new AlertRuleIndex.Rule(1L, ITEM, AlertType.PRICE_BELOW, 900, null));
+        index.add(new AlertRuleIndex.Rule(2L, ITEM, AlertType.PRICE_ABOVE, 100, null));
+        index.add(new AlertRuleIndex.Rule(3L, ITEM, AlertType.PRICE_ABOVE, 5000, null));
+
+        assertFalse(index.hasObservation(ITEM));
+        assertEquals(List.of(1L, 2L), ids(index.evaluate(ITEM, DAY, 700, null)));
+        assertTrue(index.hasObservation(ITEM));
+    }
+
+    @Test
+    public void changeRulesResetEachDay() {
+        AlertRuleIndex index = new AlertRuleIndex();
+        index.add(new AlertRuleIndex.Rule(1L, ITEM, AlertType.CHANGE_ABOVE_PCT, 10, null));
+        index.add(new AlertRuleIndex.Rule(2L, ITEM, AlertType.CHANGE_ABOVE_PCT, 30, null));
+        index.observe(ITEM, DAY, 1000, 2.0);
+
+        assertEquals(List.of(1L), ids(index.evaluate(ITEM, DAY, 880, -12.0)));
+        assertTrue(index.evaluate(ITEM, DAY, 870, -13.0).isEmpty());
+        assertEquals(List.of(1L), ids(index.evaluate(ITEM, DAY.plusDays(1), 1000, 15.0)));
+    }
+
+    @Test
+    public void removedRulesAreNotEvaluated() {
+        AlertRuleIndex index = new AlertRuleIndex();
+        index.add(new AlertRuleIndex.Rule(1L, ITEM, AlertType.PRICE_BELOW, 900, null));
+        index.add(new AlertRuleIndex.Rule(2L, ITEM, AlertType.PRICE_BELOW, 900, null));
+        index.observe(ITEM, DAY, 1000, null);
+
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertEquals(List.of(2L), ids(index.evaluate(ITEM, DAY, 800, null)));
+
+        assertTrue(index.remove(2L));
+        assertFalse(index.hasRules(ITEM));
+        assertEquals(0, index.size());
+    }
+
+    private static List<Long> ids(List<AlertRuleIndex.Rule> rules) {
+        return rules.stream().map(AlertRuleIndex.Rule::id).sorted().collect(Collectors.toList());
+    }
+}
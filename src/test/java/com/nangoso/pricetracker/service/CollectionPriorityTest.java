@@ -0,0 +1,42 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CollectionPriorityTest {
+
+    @Test
+    public void deadItemsUseMaximumInterval() {
+        double score = CollectionPriority.score(0, 1000, 0.0, 0.0);
+
+        assertEquals(0.0, score);
+        assertEquals(1440, CollectionPriority.intervalMinutes(score, 60, 1440));
+    }
+
+    @Test
+    public void hotVolatileItemsUseMinimumInterval() {
+        double score = CollectionPriority.score(5000, 1000, 0.2, 1.0);
+
+        assertEquals(1.0, score, 1e-9);
+        assertEquals(60, CollectionPriority.intervalMinutes(score, 60, 1440));
+    }
+
+    @Test
+    public void intervalShrinksAsSignalsGrow() {
+        int quiet = CollectionPriority.intervalMinutes(CollectionPriority.score(10, 1000, 0.0, 0.0), 60, 1440);
+        int viewed = CollectionPriority.intervalMinutes(CollectionPriority.score(300, 1000, 0.0, 0.0), 60, 1440);
+        int volatileViewed = CollectionPriority.intervalMinutes(CollectionPriority.score(300, 1000, 0.03, 0.5), 60, 1440);
+
+        assertTrue(quiet > viewed);
+        assertTrue(viewed > volatileViewed);
+        assertTrue(volatileViewed >= 60);
+    }
+
+    @Test
+    public void smoothsTowardsNewSamples() {
+        assertEquals(0.5, CollectionPriority.smooth(null, 0.5));
+        assertEquals(0.3, CollectionPriority.smooth(0.0, 1.0), 1e-9);
+    }
+}
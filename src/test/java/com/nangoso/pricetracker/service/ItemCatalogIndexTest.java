@@ -0,0 +1,71 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ItemCatalogIndexTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    public void indexesCodeListAndImportedDumps() throws Exception {
+        Path importDir = Files.createDirectories(dataDir.resolve("import"));
+        Files.writeString(importDir.resolve("dump.txt"), String.join("\n",
+                "# 아이템 덤프",
+                "1302000 // [One-Handed Sword] Sword",
+                "2000000 // Red Potion",
+                "2290000 // [Mastery Book] Duplicate name",
+                "invalid line"), StandardCharsets.UTF_8);
+
+        ItemCatalogIndex index = open(importDir);
+
+        assertTrue(index.contains("2290000"));
+        assertFalse(index.contains("9999999"));
+        assertFalse(index.contains("abc"));
+
+        List<String> codes = index.getItemCodes();
+        assertEquals(index.size(), codes.size());
+        assertEquals("1302000", codes.get(0));
+        assertEquals(List.of("1302000"), index.findCodesByCategory("One-Handed Sword"));
+        assertTrue(index.findCodesByCategory("Mastery Book").contains("2290000"));
+        assertFalse(index.findCodesByCategory("Mastery Book").contains("2000000"));
+        assertEquals(List.of(), index.findCodesByCategory("Unknown"));
+    }
+
+    @Test
+    public void rebuildsOnlyWhenSourcesChange() throws Exception {
+        Path importDir = Files.createDirectories(dataDir.resolve("import"));
+        Path dump = importDir.resolve("dump.txt");
+        Files.writeString(dump, "1302000 // [One-Handed Sword] Sword\n", StandardCharsets.UTF_8);
+        Path indexPath = dataDir.resolve("catalog.idx");
+
+        open(importDir);
+        FileTime marker = FileTime.fromMillis(1_000_000_000L);
+        Files.setLastModifiedTime(indexPath, marker);
+
+        open(importDir);
+        assertEquals(marker, Files.getLastModifiedTime(indexPath));
+
+        Files.writeString(dump, "1302001 // [One-Handed Sword] Another Sword\n", StandardCharsets.UTF_8);
+        ItemCatalogIndex rebuilt = open(importDir);
+
+        assertTrue(rebuilt.contains("1302001"));
+        assertFalse(rebuilt.contains("1302000"));
+    }
+
+    private ItemCatalogIndex open(Path importDir) {
+        ItemCatalogIndex index = new ItemCatalogIndex(dataDir.resolve("catalog.idx").toString(), importDir.toString());
+        index.open();
+        return index;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nangoso.pricetracker.dto.ItemResponseDto;
+import com.nangoso.pricetracker.entity.Item;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new ItemSearchIndex(null);
+        index.add(item("2290000", "[마스터리북] 몬스터 마그넷 20"));
+        index.add(item("2290001", "[마스터리북] 몬스터 마그넷 30"));
+        index.add(item("2290002", "[마스터리북] 아킬레스 20"));
+        index.add(item("2040804", "장갑 공격력 주문서 10%"));
+    }
+
+    @Test
+    public void matchesInfixIgnoringSpaces() {
+        assertEquals(List.of("2290000", "2290001"), codes(index.search("마그넷", 10)));
+        assertEquals(List.of("2290000", "2290001"), codes(index.search("몬스터마그넷", 10)));
+    }
+
+    @Test
+    public void matchesChoseongAndMixedQueries() {
+        assertEquals(List.of("2290002"), codes(index.search("ㅇㅋㄹㅅ", 10)));
+        assertEquals(List.of("2290000", "2290001"), codes(index.search("몬ㅅ터", 10)));
+    }
+
+    @Test
+    public void prefersPrefixMatchesAndRespectsLimit() {
+        index.add(item("1000000", "아킬레스"));
+
+        List<String> result = codes(index.search("아킬레스", 1));
+        assertEquals(List.of("1000000"), result);
+    }
+
+    @Test
+    public void matchesItemCodePrefix() {
+        List<String> result = codes(index.search("22900", 10));
+        assertEquals(3, result.size());
+        assertTrue(codes(index.search("없는아이템", 10)).isEmpty());
+    }
+
+    private Item item(String itemCode, String name) {
+        return Item.builder().itemCode(itemCode).name(name).build();
+    }
+
+    private List<String> codes(List<ItemResponseDto> results) {
+        return results.stream().map(ItemResponseDto::getItemCode).collect(Collectors.toList());
+    }
+}
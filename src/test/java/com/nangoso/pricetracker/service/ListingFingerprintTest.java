@@ -0,0 +1,40 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.nangoso.pricetracker.dto.PriceData;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ListingFingerprintTest {
+
+    @Test
+    public void ignoresListingOrder() {
+        PriceData first = new PriceData(1000L, "https://mapleland.gg/trade/1", "팝니다", null);
+        PriceData second = new PriceData(2000L, "https://mapleland.gg/trade/2", "급처", null);
+
+        assertEquals(ListingFingerprint.of(List.of(first, second)), ListingFingerprint.of(List.of(second, first)));
+    }
+
+    @Test
+    public void changesWhenListingChanges() {
+        PriceData listing = new PriceData(1000L, "https://mapleland.gg/trade/1", "팝니다", null);
+        long hash = ListingFingerprint.of(List.of(listing));
+
+        assertNotEquals(hash, ListingFingerprint.of(List.of(new PriceData(1001L, listing.getUrl(), listing.getComment(), null))));
+        assertNotEquals(hash, ListingFingerprint.of(List.of(new PriceData(1000L, listing.getUrl(), "", null))));
+        assertNotEquals(hash, ListingFingerprint.of(List.of(listing, listing)));
+        assertNotEquals(hash, ListingFingerprint.of(List.of()));
+    }
+
+    @Test
+    public void ignoresFilterStatus() {
+        PriceData listing = new PriceData(1000L, "https://mapleland.gg/trade/1", "팝니다", null);
+        long hash = ListingFingerprint.of(List.of(listing));
+
+        listing.setStatus("ACTIVE");
+
+        assertEquals(hash, ListingFingerprint.of(List.of(listing)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class MarketAnalyticsTest {
+
+    @Test
+    public void chainsIndexWithPreviousListingWeights() {
+        MarketAnalytics analytics = new MarketAnalytics(10, 1);
+        // 1000 -> 1100 (+10%), 전날 판매 목록 3건
+        analytics.add("A", "A", null, 2, 2200, 3, 3000, true);
+        // 500 -> 450 (-10%), 전날 판매 목록 1건
+        analytics.add("B", "B", null, 4, 1800, 1, 500, true);
+
+        MarketAnalytics.Result result = analytics.result(200.0);
+
+        // 가중 비율 = (3 * 1.1 + 1 * 0.9) / 4 = 1.05
+        assertEquals(210.0, result.indexLevel(), 1e-9);
+        assertEquals(5.0, result.indexChangeRate(), 1e-9);
+        assertEquals(2, result.itemCount());
+        assertEquals(6L, result.listingCount());
+    }
+
+    @Test
+    public void keepsIndexLevelWhenNoItemTradedOnBothDays() {
+        MarketAnalytics analytics = new MarketAnalytics(10, 1);
+        analytics.add("A", "A", null, 2, 2000, 0, 0, true);
+        analytics.add("B", "B", null, 0, 0, 3, 900, true);
+
+        MarketAnalytics.Result result = analytics.result(100.0);
+
+        assertEquals(100.0, result.indexLevel(), 1e-9);
+        assertNull(result.indexChangeRate());
+        assertEquals(1, result.itemCount());
+        assertEquals(0, result.gainers().size());
+        assertEquals(0, result.losers().size());
+    }
+
+    @Test
+    public void ranksGainersAndLosersAboveMinimumListings() {
+        MarketAnalytics analytics = new MarketAnalytics(2, 3);
+        analytics.add("UP5", "UP5", null, 3, 315, 3, 300, true);
+        analytics.add("UP20", "UP20", null, 3, 360, 3, 300, true);
+        analytics.add("UP10", "UP10", null, 3, 330, 3, 300, true);
+        // 판매 목록이 적어 순위에서 제외 (+100%)
+        analytics.add("THIN", "THIN", null, 1, 200, 1, 100, true);
+        analytics.add("DOWN30", "DOWN30", null, 3, 210, 3, 300, true);
+        analytics.add("DOWN10", "DOWN10", null, 3, 270, 3, 300, true);
+        analytics.add("FLAT", "FLAT", null, 3, 300, 3, 300, true);
+
+        MarketAnalytics.Result result = analytics.result(100.0);
+
+        assertEquals(List.of("UP20", "UP10"), codes(result.gainers()));
+        assertEquals(List.of("DOWN30", "DOWN10"), codes(result.losers()));
+        assertEquals(20.0, result.gainers().get(0).changeRate(), 1e-9);
+        assertEquals(Long.valueOf(120), result.gainers().get(0).avgPrice());
+    }
+
+    @Test
+    public void ranksMostListedAndLeastLiquid() {
+        MarketAnalytics analytics = new MarketAnalytics(2, 1);
+        analytics.add("C", "C", null, 5, 500, 0, 0, true);
+        analytics.add("A", "A", null, 9, 900, 0, 0, true);
+        analytics.add("B", "B", null, 1, 100, 0, 0, true);
+        analytics.add("D", "D", null, 1, 100, 0, 0, true);
+        // 최근 수집일 거래 없음 (판매 목록 0건, 거래 적은 순위에서 제외)
+        analytics.add("E", "E", null, 0, 0, 2, 200, true);
+
+        MarketAnalytics.Result result = analytics.result(100.0);
+
+        assertEquals(List.of("A", "C"), codes(result.mostListed()));
+        assertEquals(List.of("B", "D"), codes(result.leastLiquid()));
+        assertEquals(Long.valueOf(100), result.leastLiquid().get(0).avgPrice());
+    }
+
+    @Test
+    public void keepsLastPriceOfItemsNotYetCollectedOnMarketDate() {
+        MarketAnalytics analytics = new MarketAnalytics(10, 1);
+        // 오늘 수집: 1000 -> 1200 (+20%), 전날 판매 목록 1건
+        analytics.add("HOT", "HOT", null, 1, 1200, 1, 1000, true);
+        // 오늘 아직 수집 전: 최근 수집일 500 -> 250 (-50%, 이미 전날 지수에 반영), 판매 목록 3건
+        analytics.add("COLD", "COLD", null, 3, 750, 3, 1500, false);
+
+        MarketAnalytics.Result result = analytics.result(100.0);
+
+        // 가중 비율 = (1 * 1.2 + 3 * 1.0) / 4 = 1.05
+        assertEquals(105.0, result.indexLevel(), 1e-9);
+        assertEquals(5.0, result.indexChangeRate(), 1e-9);
+        // 순위와 건수는 아이템별 최근 수집일 기준
+        assertEquals(2, result.itemCount());
+        assertEquals(4L, result.listingCount());
+        assertEquals(List.of("COLD"), codes(result.losers()));
+        assertEquals(-50.0, result.losers().get(0).changeRate(), 1e-9);
+    }
+
+    @Test
+    public void keepsIndexLevelWhenNoItemCollectedOnMarketDate() {
+        MarketAnalytics analytics = new MarketAnalytics(10, 1);
+        analytics.add("A", "A", null, 2, 2200, 2, 2000, false);
+
+        MarketAnalytics.Result result = analytics.result(150.0);
+
+        assertEquals(150.0, result.indexLevel(), 1e-9);
+        assertNull(result.indexChangeRate());
+        assertEquals(1, result.itemCount());
+    }
+
+    private static List<String> codes(List<MarketAnalytics.Mover> movers) {
+        return movers.stream().map(MarketAnalytics.Mover::itemCode).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class OutlierBoundsTest {
+
+    @Test
+    public void treatsSmallSamplesAsValid() {
+        OutlierBounds bounds = OutlierBounds.of(new long[]{1, 1_000_000, 5});
+
+        assertTrue(bounds.contains(Long.MIN_VALUE));
+        assertTrue(bounds.contains(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void rejectsValuesOutsideIqrFences() {
+        // Q1 = 100, Q3 = 120, IQR = 20 -> [70, 150]
+        OutlierBounds bounds = OutlierBounds.of(new long[]{120, 100, 5_000, 110, 100, 120, 1});
+
+        assertEquals(70.0, bounds.getLowerBound());
+        assertEquals(150.0, bounds.getUpperBound());
+        assertTrue(bounds.contains(70));
+        assertTrue(bounds.contains(150));
+        assertFalse(bounds.contains(1));
+        assertFalse(bounds.contains(5_000));
+    }
+
+    @Test
+    public void usesOnlyPrefixAndKeepsInputUnchanged() {
+        long[] values = {40, 10, 30, 20, 9_999_999};
+        long[] copy = values.clone();
+
+        OutlierBounds bounds = OutlierBounds.of(values, 4);
+
+        assertArrayEquals(copy, values);
+        assertEquals(sortedPercentile(new long[]{10, 20, 30, 40}, 25) - 1.5 * 15, bounds.getLowerBound());
+    }
+
+    @Test
+    public void matchesSortedPercentileBounds() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            int size = 4 + random.nextInt(200);
+            long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                // 중복 값이 많은 경우도 포함
+                values[i] = random.nextBoolean() ? random.nextInt(10) * 1000L : random.nextInt(1_000_000);
+            }
+
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double q1 = sortedPercentile(sorted, 25);
+            double q3 = sortedPercentile(sorted, 75);
+
+            OutlierBounds bounds = OutlierBounds.of(values);
+
+            assertEquals(q1 - 1.5 * (q3 - q1), bounds.getLowerBound(), 1e-6);
+            assertEquals(q3 + 1.5 * (q3 - q1), bounds.getUpperBound(), 1e-6);
+        }
+    }
+
+    private static double sortedPercentile(long[] sorted, double percentile) {
+        double index = percentile / 100.0 * (sorted.length - 1);
+        int i = (int) index;
+        double fraction = index - i;
+        if (i + 1 < sorted.length) {
+            return sorted[i] + (sorted[i + 1] - sorted[i]) * fraction;
+        }
+        return sorted[i];
+    }
+}
@@ -0,0 +1,102 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nangoso.pricetracker.entity.ItemPrice;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PriceArchiveStoreTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    public void roundTripsItemDay() {
+        PriceArchiveStore store = new PriceArchiveStore(archiveDir.toString());
+        PriceArchiveStore.Columns columns = store.newColumns();
+        LocalDate date = LocalDate.of(2025, 3, 15);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 15, 8, 0, 15);
+        columns.add(3, 20, date, 1_500_000, ItemPrice.PriceStatus.ACTIVE, "https://example.com/3", "팝니다", createdAt);
+        columns.add(1, 10, date, 200, ItemPrice.PriceStatus.ACTIVE, "https://example.com/1", null, createdAt);
+        columns.add(2, 10, date, 9_999_999, ItemPrice.PriceStatus.INACTIVE, "https://example.com/2", "팝니다", createdAt);
+        columns.add(4, 10, date.plusDays(1), 300, ItemPrice.PriceStatus.ACTIVE, null, null, createdAt);
+
+        store.writeMonth(MONTH, columns);
+
+        assertTrue(store.isArchived(date));
+        assertFalse(store.isArchived(LocalDate.of(2025, 4, 1)));
+
+        assertArrayEquals(new long[]{200}, store.readActivePrices(10, date));
+        assertArrayEquals(new long[]{300}, store.readActivePrices(10, date.plusDays(1)));
+        assertArrayEquals(new long[]{1_500_000}, store.readActivePrices(20, date));
+        assertEquals(0, store.readActivePrices(10, date.minusDays(1)).length);
+        assertEquals(0, store.readActivePrices(99, date).length);
+    }
+
+    @Test
+    public void readsEachItemBlockIndependently() {
+        PriceArchiveStore store = new PriceArchiveStore(archiveDir.toString());
+        PriceArchiveStore.Columns columns = store.newColumns();
+        long id = 1;
+        for (int item = 1; item <= 50; item++) {
+            for (int day = 1; day <= 31; day++) {
+                LocalDate date = MONTH.atDay(day);
+                for (int i = 0; i < 3; i++) {
+                    columns.add(id++, item, date, item * 1000L + day * 10L + i, ItemPrice.PriceStatus.ACTIVE,
+                            "https://example.com/" + id, i == 0 ? "팝니다" : null, date.atStartOfDay());
+                }
+            }
+        }
+
+        store.writeMonth(MONTH, columns);
+
+        assertArrayEquals(new long[]{1150, 1151, 1152}, store.readActivePrices(1, MONTH.atDay(15)));
+        assertArrayEquals(new long[]{27010, 27011, 27012}, store.readActivePrices(27, MONTH.atDay(1)));
+        assertArrayEquals(new long[]{50310, 50311, 50312}, store.readActivePrices(50, MONTH.atDay(31)));
+    }
+
+    @Test
+    public void mergesExistingMonthWithoutDuplicates() {
+        PriceArchiveStore store = new PriceArchiveStore(archiveDir.toString());
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        LocalDateTime createdAt = date.atStartOfDay();
+
+        PriceArchiveStore.Columns first = store.newColumns();
+        first.add(1, 10, date, 100, ItemPrice.PriceStatus.ACTIVE, null, null, createdAt);
+        first.add(2, 10, date, 200, ItemPrice.PriceStatus.ACTIVE, null, null, createdAt);
+        store.writeMonth(MONTH, first);
+
+        PriceArchiveStore.Columns second = store.newColumns();
+        second.add(2, 10, date, 200, ItemPrice.PriceStatus.ACTIVE, null, null, createdAt);
+        second.add(3, 10, date, 300, ItemPrice.PriceStatus.ACTIVE, null, null, createdAt);
+        store.writeMonth(MONTH, second);
+
+        assertArrayEquals(new long[]{100, 200, 300}, store.readActivePrices(10, date));
+    }
+
+    @Test
+    public void loadsArchivedMonthsOnStartup() {
+        PriceArchiveStore store = new PriceArchiveStore(archiveDir.toString());
+        PriceArchiveStore.Columns columns = store.newColumns();
+        LocalDate date = LocalDate.of(2025, 3, 2);
+        columns.add(1, 10, date, 100, ItemPrice.PriceStatus.ACTIVE, null, null, date.atStartOfDay());
+        store.writeMonth(MONTH, columns);
+
+        PriceArchiveStore reopened = new PriceArchiveStore(archiveDir.toString());
+        reopened.loadArchivedMonths();
+
+        assertEquals(Set.of(MONTH), reopened.getArchivedMonths());
+        assertArrayEquals(new long[]{100}, reopened.readActivePrices(10, date));
+    }
+}
@@ -0,0 +1,68 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PriceSketchTest {
+
+    @Test
+    public void isExactForSmallSamples() {
+        PriceSketch sketch = new PriceSketch();
+        for (long price : new long[]{40, 10, 30, 20, 50}) {
+            sketch.update(price);
+        }
+
+        assertArrayEquals(new long[]{20, 30, 40}, sketch.quantiles(0.25, 0.5, 0.75));
+        assertEquals(10, sketch.quantile(0));
+        assertEquals(50, sketch.quantile(1));
+    }
+
+    @Test
+    public void roundTripsThroughBytes() {
+        PriceSketch sketch = new PriceSketch();
+        Random random = new Random(3);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.update(random.nextInt(10_000_000));
+        }
+
+        PriceSketch restored = PriceSketch.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch.getCount(), restored.getCount());
+        assertArrayEquals(sketch.quantiles(0.1, 0.5, 0.9), restored.quantiles(0.1, 0.5, 0.9));
+        assertTrue(PriceSketch.fromBytes(new PriceSketch().toBytes()).isEmpty());
+    }
+
+    @Test
+    public void mergedSketchStaysWithinRankError() {
+        Random random = new Random(11);
+        int size = 200_000;
+        long[] all = new long[size];
+        PriceSketch left = new PriceSketch();
+        PriceSketch right = new PriceSketch();
+        for (int i = 0; i < size; i++) {
+            all[i] = 1_000_000 + (long) (random.nextGaussian() * 100_000);
+            (i % 2 == 0 ? left : right).update(all[i]);
+        }
+        Arrays.sort(all);
+
+        left.merge(right);
+
+        assertEquals(size, left.getCount());
+        for (double q : new double[]{0.25, 0.5, 0.75}) {
+            int rank = Arrays.binarySearch(all, left.quantile(q));
+            rank = rank < 0 ? -rank - 1 : rank;
+            assertEquals(q, rank / (double) size, 0.02);
+        }
+    }
+
+    @Test
+    public void rejectsQuantileOfEmptySketch() {
+        assertThrows(IllegalStateException.class, () -> new PriceSketch().quantile(0.5));
+    }
+}
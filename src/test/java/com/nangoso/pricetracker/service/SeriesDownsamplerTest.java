@@ -0,0 +1,59 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class SeriesDownsamplerTest {
+
+    @Test
+    public void keepsAllPointsWhenUnderLimit() {
+        double[] x = {0, 1, 2, 3};
+        double[] y = {10, 20, 15, 30};
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, SeriesDownsampler.lttb(x, y, 4));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, SeriesDownsampler.lttb(x, y, 100));
+        assertEquals(0, SeriesDownsampler.lttb(new double[0], new double[0], 10).length);
+    }
+
+    @Test
+    public void keepsEndpointsAndReturnsAscendingIndexes() {
+        int length = 365;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i;
+            y[i] = 1000 + 100 * Math.sin(i / 10.0);
+        }
+
+        int[] selected = SeriesDownsampler.lttb(x, y, 50);
+
+        assertEquals(50, selected.length);
+        assertEquals(0, selected[0]);
+        assertEquals(length - 1, selected[49]);
+        for (int i = 1; i < selected.length; i++) {
+            assertTrue(selected[i] > selected[i - 1]);
+        }
+    }
+
+    @Test
+    public void preservesSpikes() {
+        int length = 200;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i;
+            y[i] = 1000;
+        }
+        y[77] = 5000;
+        y[150] = 100;
+
+        int[] selected = SeriesDownsampler.lttb(x, y, 20);
+
+        assertTrue(Arrays.stream(selected).anyMatch(index -> index == 77));
+        assertTrue(Arrays.stream(selected).anyMatch(index -> index == 150));
+    }
+}
@@ -0,0 +1,48 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.nangoso.pricetracker.dto.PriceData;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TradeResponseParserTest {
+
+    private final TradeResponseParser parser = new TradeResponseParser(new JsonFactory());
+
+    @Test
+    public void keepsOnlyActiveSellListings() throws Exception {
+        String json = """
+            [
+              {"itemName": "마스터리북", "tradeType": "buy", "tradeStatus": true, "itemPrice": 100, "url": "b1", "comment": "x"},
+              {"itemName": "마스터리북", "tradeType": "sell", "tradeStatus": false, "itemPrice": 200, "url": "s0", "comment": "x"},
+              {"itemPrice": 300, "url": "s1", "comment": "급처", "tradeType": "SELL", "tradeStatus": true, "extra": {"a": [1, 2]}},
+              {"itemName": "마스터리북", "tradeType": "sell", "tradeStatus": true, "itemPrice": null, "url": "s2", "comment": ""}
+            ]
+            """;
+
+        List<PriceData> result = parser.parseSellListings(stream(json));
+
+        assertEquals(1, result.size());
+        assertEquals(300L, result.get(0).getPrice());
+        assertEquals("s1", result.get(0).getUrl());
+        assertEquals("급처", result.get(0).getComment());
+    }
+
+    @Test
+    public void readsFirstItemName() throws Exception {
+        String json = "[{\"tradeType\": \"buy\", \"itemName\": \"몬스터 마그넷 20\"}, {\"itemName\": \"other\"}]";
+
+        assertEquals("몬스터 마그넷 20", parser.parseFirstItemName(stream(json)));
+        assertNull(parser.parseFirstItemName(stream("[]")));
+    }
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package com.nangoso.pricetracker.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+public class WebhookPriceAlertSinkTest {
+
+    @Test
+    public void allowsOnlyHttpsToPublicHosts() {
+        assertTrue(allowed("https://hooks.example.com/alert"));
+        assertTrue(allowed("https://8.8.8.8/alert"));
+
+        assertFalse(allowed("http://hooks.example.com/alert"));
+        assertFalse(allowed("https://localhost/alert"));
+        assertFalse(allowed("https://printer.local/alert"));
+        assertFalse(allowed("https://metadata.google.internal/computeMetadata/v1/"));
+        assertFalse(allowed("https://127.0.0.1/alert"));
+        assertFalse(allowed("https://10.0.0.5/alert"));
+        assertFalse(allowed("https://192.168.1.1/alert"));
+        assertFalse(allowed("https://169.254.169.254/latest/meta-data/"));
+        assertFalse(allowed("https://[::1]/alert"));
+        assertFalse(allowed("https://[fd00::1]/alert"));
+    }
+
+    @Test
+    public void rejectsNonPublicAddresses() throws Exception {
+        assertTrue(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("1.1.1.1")));
+        assertTrue(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("2606:4700::1111")));
+
+        assertFalse(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("0.0.0.0")));
+        assertFalse(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("172.16.0.1")));
+        assertFalse(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("100.64.0.1")));
+        assertFalse(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("fe80::1")));
+        assertFalse(WebhookPriceAlertSink.isPublicAddress(InetAddress.getByName("::ffff:127.0.0.1")));
+    }
+
+    private static boolean allowed(String url) {
+        return WebhookPriceAlertSink.isAllowedUrl(HttpUrl.get(url));
+    }
+}